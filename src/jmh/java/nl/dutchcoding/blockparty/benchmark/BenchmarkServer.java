@@ -0,0 +1,207 @@
+package nl.dutchcoding.blockparty.benchmark;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Just enough of a server to run plugin code outside of Minecraft. The Spigot API has no item meta or
+ * player implementation of its own, so these are proxies. Item meta is copied on getItemMeta like
+ * CraftBukkit does (name, lore and persistent data), which is the cost the item benchmarks compare.
+ */
+public final class BenchmarkServer {
+
+    private static final Map<Class<?>, Object> PRIMITIVE_DEFAULTS = Map.of(boolean.class, false, int.class, 0,
+        long.class, 0L, double.class, 0.0, float.class, 0.0f, short.class, (short) 0, byte.class, (byte) 0, char.class, '\0');
+    private static final Map<UUID, Player> players = new HashMap<>();
+
+    private BenchmarkServer() {
+    }
+
+    /**
+     * Installs the server once per JVM
+     */
+    public static synchronized void install() {
+        if (Bukkit.getServer() != null) {
+            return;
+        }
+
+        ItemFactory itemFactory = proxy(ItemFactory.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getItemMeta":
+                    return newMeta(new MetaState());
+                case "asMetaFor":
+                    return ((ItemMeta) args[0]).clone();
+                case "isApplicable":
+                    return true;
+                case "updateMaterial":
+                    return args[1];
+                case "equals":
+                    if (args.length == 2) {
+                        return isEmpty((ItemMeta) args[0]) && isEmpty((ItemMeta) args[1]);
+                    }
+                    return proxy == args[0];
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        });
+
+        Logger logger = Logger.getLogger("BenchmarkServer");
+        Bukkit.setServer(proxy(Server.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                case "getVersion":
+                case "getBukkitVersion":
+                    return "benchmark";
+                case "getItemFactory":
+                    return itemFactory;
+                case "getPlayer":
+                    return args[0] instanceof UUID ? players.get(args[0]) : null;
+                case "getOnlinePlayers":
+                    return List.copyOf(players.values());
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        }));
+    }
+
+    public static Plugin plugin(String name) {
+        return proxy(Plugin.class, (proxy, method, args) ->
+            method.getName().equals("getName") ? name : defaultValue(proxy, method, args));
+    }
+
+    /**
+     * Adds an online player that stands at the given location. Move it by changing the location.
+     */
+    public static Player addPlayer(Location location) {
+        UUID playerId = UUID.randomUUID();
+        Player player = proxy(Player.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return playerId;
+                case "getLocation":
+                    if (args == null) {
+                        return location.clone();
+                    }
+                    Location target = (Location) args[0];
+                    target.setWorld(location.getWorld());
+                    target.setX(location.getX());
+                    target.setY(location.getY());
+                    target.setZ(location.getZ());
+                    return target;
+                case "getWorld":
+                    return location.getWorld();
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        });
+        players.put(playerId, player);
+        return player;
+    }
+
+    private static boolean isEmpty(ItemMeta meta) {
+        return meta == null || (!meta.hasDisplayName() && !meta.hasLore() && meta.getPersistentDataContainer().isEmpty());
+    }
+
+    private static ItemMeta newMeta(MetaState state) {
+        PersistentDataContainer container = proxy(PersistentDataContainer.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "set":
+                    state.tags.put((NamespacedKey) args[0], args[2]);
+                    return null;
+                case "get":
+                    return state.tags.get(args[0]);
+                case "has":
+                    return state.tags.containsKey(args[0]);
+                case "isEmpty":
+                    return state.tags.isEmpty();
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        });
+
+        return proxy(ItemMeta.class, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hasDisplayName":
+                    return state.displayName != null;
+                case "getDisplayName":
+                    return state.displayName;
+                case "setDisplayName":
+                    state.displayName = (String) args[0];
+                    return null;
+                case "hasLore":
+                    return state.lore != null;
+                case "getLore":
+                    // CraftBukkit converts the stored lore back into a new list on every call
+                    return state.lore != null ? new ArrayList<>(state.lore) : null;
+                case "setLore":
+                    state.lore = copyLore(args[0]);
+                    return null;
+                case "getPersistentDataContainer":
+                    return container;
+                case "clone":
+                    return newMeta(state.copy());
+                default:
+                    return defaultValue(proxy, method, args);
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(BenchmarkServer.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object defaultValue(Object proxy, Method method, Object[] args) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return proxy.getClass().getSimpleName();
+            default:
+                // Methods the benchmarks never call
+                return PRIMITIVE_DEFAULTS.get(method.getReturnType());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> copyLore(Object lore) {
+        return lore != null ? new ArrayList<>((List<String>) lore) : null;
+    }
+
+    /**
+     * The values of one item meta, copied as a whole on clone
+     */
+    private static final class MetaState {
+        private String displayName;
+        private List<String> lore;
+        private final Map<NamespacedKey, Object> tags = new HashMap<>();
+
+        private MetaState copy() {
+            MetaState copy = new MetaState();
+            copy.displayName = displayName;
+            copy.lore = copyLore(lore);
+            copy.tags.putAll(tags);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package nl.dutchcoding.blockparty.benchmark;
+
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Visiting every floor cell once, as each floor phase does. The baseline is the old
+ * Arena.getFloorBlocks, which built a new HashSet of Locations on every call. Block access is
+ * the same for both and left out.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FloorScanBenchmark {
+
+    @Param({"16", "32", "64"})
+    private int size;
+
+    private Location pos1;
+    private Location pos2;
+    private FloorIndex floor;
+
+    @Setup
+    public void setup() {
+        pos1 = new Location(null, 0, 64, 0);
+        pos2 = new Location(null, size - 1, 64, size - 1);
+        floor = new FloorIndex(pos1, pos2);
+    }
+
+    @Benchmark
+    public void locationSet(Blackhole blackhole) {
+        for (Location location : getFloorBlocks(pos1, pos2)) {
+            blackhole.consume(location.getBlockX());
+            blackhole.consume(location.getBlockZ());
+        }
+    }
+
+    @Benchmark
+    public void floorIndex(Blackhole blackhole) {
+        for (int cell = 0; cell < floor.size(); cell++) {
+            blackhole.consume(floor.getX(cell));
+            blackhole.consume(floor.getZ(cell));
+        }
+    }
+
+    // Baseline: Arena.getFloorBlocks before the floor index
+    private static Set<Location> getFloorBlocks(Location pos1, Location pos2) {
+        Set<Location> blocks = new HashSet<>();
+
+        int minX = Math.min(pos1.getBlockX(), pos2.getBlockX());
+        int maxX = Math.max(pos1.getBlockX(), pos2.getBlockX());
+        int minZ = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
+        int maxZ = Math.max(pos1.getBlockZ(), pos2.getBlockZ());
+        int y = Math.min(pos1.getBlockY(), pos2.getBlockY());
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                blocks.add(new Location(pos1.getWorld(), x, y, z));
+            }
+        }
+
+        return blocks;
+    }
+}
@@ -0,0 +1,101 @@
+package nl.dutchcoding.blockparty.benchmark;
+
+import nl.dutchcoding.blockparty.items.ItemTags;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recognizing the lobby item in an inventory click. The baseline is the old
+ * LobbyItemManager.isLobbyItem, which compared the display name and the whole lore list of a copied
+ * meta; the tag check compares the material and reads one persistent data tag.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ItemTagBenchmark {
+
+    private static final Material MATERIAL = Material.CLOCK;
+    private static final String NAME = "§aLeave Game";
+    private static final List<String> LORE = List.of("§7Right click to leave", "§7the game");
+
+    @Param({"lobby", "named", "plain"})
+    private String kind;
+
+    private ItemTags itemTags;
+    private ItemStack item;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.install();
+        itemTags = new ItemTags(BenchmarkServer.plugin("BlockParty"));
+
+        switch (kind) {
+            case "lobby":
+                item = createItem(MATERIAL, NAME, true);
+                break;
+            case "named":
+                item = createItem(Material.DIAMOND_SWORD, "§bSword", false); // Another plugin's item
+                break;
+            default:
+                item = new ItemStack(Material.STONE);
+                break;
+        }
+    }
+
+    private ItemStack createItem(Material material, String name, boolean tagged) {
+        ItemStack created = new ItemStack(material);
+        ItemMeta meta = created.getItemMeta();
+        meta.setDisplayName(name);
+        meta.setLore(LORE);
+        if (tagged) {
+            itemTags.tag(meta, ItemTags.LOBBY_ITEM);
+        }
+        created.setItemMeta(meta);
+        return created;
+    }
+
+    @Benchmark
+    public boolean metaCompare() {
+        return isLobbyItem(item);
+    }
+
+    @Benchmark
+    public boolean tag() {
+        return item.getType() == MATERIAL && itemTags.is(item, ItemTags.LOBBY_ITEM);
+    }
+
+    // Baseline: LobbyItemManager.isLobbyItem before the persistent data tag
+    private static boolean isLobbyItem(ItemStack item) {
+        if (item == null || !item.hasItemMeta()) {
+            return false;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null || !meta.hasDisplayName()) {
+            return false;
+        }
+
+        return meta.getDisplayName().equals(NAME) &&
+               item.getType() == MATERIAL &&
+               meta.hasLore() &&
+               meta.getLore().equals(LORE);
+    }
+}
@@ -0,0 +1,112 @@
+package nl.dutchcoding.blockparty.benchmark;
+
+import nl.dutchcoding.blockparty.models.Arena;
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import nl.dutchcoding.blockparty.models.Game;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One server tick of fall detection while every online player is moving. The baseline is the old
+ * PlayerMoveEvent handler, which ran for every movement packet of every online player, with the two
+ * Locations the server creates per event. Event dispatch itself is left out, so the baseline is
+ * measured on the cheap side. The scan is the loop EliminationManager runs once per tick.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class KillPlaneBenchmark {
+
+    @Param({"8", "32", "100"})
+    private int inGame; // 100 in a game and 100 elsewhere is 200 online players
+
+    @Param({"0", "100"})
+    private int elsewhere; // Online players that are not in a game
+
+    private final List<Player> online = new ArrayList<>();
+    private final Map<UUID, String> playerArenas = new HashMap<>(); // Old GameManager lookup tables
+    private final Map<String, Game> activeGames = new HashMap<>();
+    private final Location position = new Location(null, 0, 0, 0);
+    private Arena arena;
+    private Game game;
+    private FloorIndex floor;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.install();
+
+        arena = new Arena("arena1");
+        arena.setMaxPlayers(inGame);
+        arena.setPos1(new Location(null, 0, 64, 0));
+        arena.setPos2(new Location(null, 31, 64, 31));
+        floor = arena.getFloor();
+        game = new Game(arena);
+
+        for (int i = 0; i < inGame; i++) {
+            Player player = BenchmarkServer.addPlayer(new Location(null, i % 32 + 0.5, 65, i / 32 + 0.5));
+            game.addPlayer(player);
+            playerArenas.put(player.getUniqueId(), arena.getName());
+            online.add(player);
+        }
+        for (int i = 0; i < elsewhere; i++) {
+            online.add(BenchmarkServer.addPlayer(new Location(null, 500 + i, 70, 500)));
+        }
+        game.setState(Game.GameState.PLAYING);
+        activeGames.put(arena.getName(), game);
+    }
+
+    @Benchmark
+    public void moveEvents(Blackhole blackhole) {
+        for (Player player : online) {
+            PlayerMoveEvent event = new PlayerMoveEvent(player, player.getLocation(), player.getLocation());
+            onPlayerMove(event, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void tickScan(Blackhole blackhole) {
+        double killPlane = arena.getKillPlane();
+        for (Player player : game.getAliveAudience().getPlayers()) {
+            player.getLocation(position);
+            if (position.getWorld() == floor.getWorld() && position.getY() < killPlane) {
+                blackhole.consume(player);
+            }
+        }
+    }
+
+    // Baseline: PlayerListener.onPlayerMove before the tick scan
+    private void onPlayerMove(PlayerMoveEvent event, Blackhole blackhole) {
+        String arenaName = playerArenas.get(event.getPlayer().getUniqueId());
+        Game game = arenaName != null ? activeGames.get(arenaName) : null;
+        if (game == null) return;
+
+        if (game.getState() == Game.GameState.PLAYING &&
+            game.isPlayerAlive(event.getPlayer()) &&
+            event.getTo().getY() < game.getArena().getPos1().getY() - 10) {
+            blackhole.consume(event.getPlayer());
+        }
+    }
+}
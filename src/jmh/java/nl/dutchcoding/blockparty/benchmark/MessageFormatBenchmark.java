@@ -0,0 +1,55 @@
+package nl.dutchcoding.blockparty.benchmark;
+
+import nl.dutchcoding.blockparty.messages.MessageTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting one message with placeholders. The baseline is the old MessageManager, which
+ * translated colors and replaced every placeholder with a chain of String.replace calls.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageFormatBenchmark {
+
+    private static final String RAW = "&e{player} &7joined &e{arena}&7! (&e{players}&7/&e{max}&7)";
+
+    private MessageTemplate template;
+    private String player;
+    private int players;
+
+    @Setup
+    public void setup() {
+        template = MessageTemplate.compile(RAW);
+        player = "Notch";
+        players = 7;
+    }
+
+    @Benchmark
+    public String replaceChain() {
+        return RAW.replace("&", "§")
+            .replace("{player}", player)
+            .replace("{arena}", "arena1")
+            .replace("{players}", String.valueOf(players))
+            .replace("{max}", String.valueOf(16));
+    }
+
+    @Benchmark
+    public String template() {
+        return template.render("player", player, "arena", "arena1", "players", players, "max", 16);
+    }
+}
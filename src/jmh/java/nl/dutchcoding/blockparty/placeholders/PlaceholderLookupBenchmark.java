@@ -0,0 +1,158 @@
+package nl.dutchcoding.blockparty.placeholders;
+
+import nl.dutchcoding.blockparty.models.Arena;
+import nl.dutchcoding.blockparty.models.Game;
+import nl.dutchcoding.blockparty.models.PlayerStats;
+import org.bukkit.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answering one placeholder request. The baseline is the old chain of equals checks that formatted
+ * the value on every request; the snapshot path checks the source version and reads a map, the
+ * same way BlockPartyPlaceholders does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlaceholderLookupBenchmark {
+
+    @Param({"wins", "win_rate", "game_round", "game_selected_block"})
+    private String params;
+
+    private UUID playerId;
+    private PlayerStats stats;
+    private Game game;
+    private Map<UUID, String> playerArenas; // Old GameManager lookup tables
+    private Map<String, Game> activeGames;
+    private PlaceholderSnapshot statsSnapshot;
+    private PlaceholderSnapshot gameSnapshot;
+
+    @Setup
+    public void setup() {
+        playerId = UUID.randomUUID();
+        stats = new PlayerStats(playerId);
+        for (int i = 0; i < 40; i++) {
+            stats.addLoss();
+        }
+        stats.addWin();
+        stats.addRoundsSurvived(120);
+
+        Arena arena = new Arena("arena1");
+        arena.setMaxPlayers(16);
+        game = new Game(arena);
+        game.setState(Game.GameState.PLAYING);
+        game.setRound(12);
+        game.setSelectedBlock(Material.LIGHT_BLUE_WOOL, 3);
+        playerArenas = new HashMap<>(Map.of(playerId, "arena1"));
+        activeGames = new HashMap<>(Map.of("arena1", game));
+    }
+
+    @Benchmark
+    public String equalsChain() {
+        return legacyRequest(params);
+    }
+
+    @Benchmark
+    public String snapshot() {
+        if (statsSnapshot == null || !statsSnapshot.isValid(stats, stats.getVersion())) {
+            Map<String, String> values = new HashMap<>();
+            values.put("wins", String.valueOf(stats.getWins()));
+            values.put("games_played", String.valueOf(stats.getGamesPlayed()));
+            values.put("rounds_survived", String.valueOf(stats.getRoundsSurvived()));
+            values.put("win_rate", String.format("%.1f", stats.getWinRate()));
+            statsSnapshot = new PlaceholderSnapshot(stats, stats.getVersion(), values);
+        }
+        String value = statsSnapshot.get(params);
+        if (value != null) {
+            return value;
+        }
+
+        if (gameSnapshot == null || !gameSnapshot.isValid(game, game.getVersion())) {
+            Map<String, String> values = new HashMap<>();
+            values.put("in_game", "true");
+            values.put("game_state", game.getState().name().toLowerCase());
+            values.put("game_players", String.valueOf(game.getPlayers().size()));
+            values.put("game_alive_players", String.valueOf(game.getAlivePlayers().size()));
+            values.put("game_max_players", String.valueOf(game.getArena().getMaxPlayers()));
+            values.put("game_round", String.valueOf(game.getRound()));
+            values.put("game_time_left", String.valueOf(game.getTimeLeft()));
+            values.put("game_countdown", String.valueOf(game.getCountdown()));
+            values.put("game_arena", game.getArena().getName());
+            values.put("game_selected_block", game.getSelectedBlock().name().toLowerCase().replace("_", " "));
+            gameSnapshot = new PlaceholderSnapshot(game, game.getVersion(), values);
+        }
+        return gameSnapshot.get(params);
+    }
+
+    // Baseline: BlockPartyPlaceholders.onPlaceholderRequest before the snapshots
+    private String legacyRequest(String params) {
+        if (params.equals("wins")) {
+            return String.valueOf(stats.getWins());
+        }
+        if (params.equals("games_played")) {
+            return String.valueOf(stats.getGamesPlayed());
+        }
+        if (params.equals("rounds_survived")) {
+            return String.valueOf(stats.getRoundsSurvived());
+        }
+        if (params.equals("win_rate")) {
+            if (stats.getGamesPlayed() == 0) {
+                return "0.0";
+            }
+            double winRate = (double) stats.getWins() / stats.getGamesPlayed() * 100;
+            return String.format("%.1f", winRate);
+        }
+        if (params.equals("in_game")) {
+            return playerArenas.containsKey(playerId) ? "true" : "false";
+        }
+
+        String arenaName = playerArenas.get(playerId);
+        Game game = arenaName != null ? activeGames.get(arenaName) : null;
+        if (game != null) {
+            switch (params) {
+                case "game_state":
+                    return game.getState().name().toLowerCase();
+                case "game_players":
+                    return String.valueOf(game.getPlayers().size());
+                case "game_alive_players":
+                    return String.valueOf(game.getAlivePlayers().size());
+                case "game_max_players":
+                    return String.valueOf(game.getArena().getMaxPlayers());
+                case "game_round":
+                    return String.valueOf(game.getRound());
+                case "game_time_left":
+                    return String.valueOf(game.getTimeLeft());
+                case "game_countdown":
+                    return String.valueOf(game.getCountdown());
+                case "game_arena":
+                    return game.getArena().getName();
+                case "game_selected_block":
+                    return game.getSelectedBlock() != null
+                        ? game.getSelectedBlock().name().toLowerCase().replace("_", " ") : "none";
+                case "is_alive":
+                    return game.getAlivePlayers().contains(playerId) ? "true" : "false";
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,8 @@
 package nl.dutchcoding.blockparty;
 
+import nl.dutchcoding.blockparty.clock.GameClock;
 import nl.dutchcoding.blockparty.commands.BlockPartyCommand;
+import nl.dutchcoding.blockparty.items.ItemTags;
 import nl.dutchcoding.blockparty.listeners.PlayerListener;
 import nl.dutchcoding.blockparty.listeners.SignListener;
 import nl.dutchcoding.blockparty.managers.*;
@@ -11,10 +13,13 @@ public final class BlockParty extends JavaPlugin {
 
     private static BlockParty instance;
     
+    private GameClock gameClock;
+    private ItemTags itemTags;
     private ConfigManager configManager;
     private MessageManager messageManager;
     private ArenaManager arenaManager;
     private GameManager gameManager;
+    private EliminationManager eliminationManager;
     private SignManager signManager;
     private StatsManager statsManager;
     private ScoreboardManager scoreboardManager;
@@ -27,18 +32,24 @@ public final class BlockParty extends JavaPlugin {
     public void onEnable() {
         instance = this;
         
+        // Single timer driving games, floor jobs, music and signs
+        this.gameClock = new GameClock(this);
+        this.itemTags = new ItemTags(this);
+
         // Initialize managers
         this.configManager = new ConfigManager(this);
         this.messageManager = new MessageManager(this);
         this.arenaManager = new ArenaManager(this);
         this.scoreboardManager = new ScoreboardManager(this);
         this.gameManager = new GameManager(this);
+        this.eliminationManager = new EliminationManager(this);
         this.signManager = new SignManager(this);
         this.statsManager = new StatsManager(this);
         this.soundManager = new SoundManager(this);
         this.inventoryManager = new InventoryManager();
         this.rewardManager = new RewardManager(this);
         this.lobbyItemManager = new LobbyItemManager(this);
+        gameClock.start();
         
         // Register commands
         getCommand("blockparty").setExecutor(new BlockPartyCommand(this));
@@ -49,7 +60,9 @@ public final class BlockParty extends JavaPlugin {
 
         // Register PlaceholderAPI expansion if available
         if (getServer().getPluginManager().getPlugin("PlaceholderAPI") != null) {
-            new BlockPartyPlaceholders(this).register();
+            BlockPartyPlaceholders placeholders = new BlockPartyPlaceholders(this);
+            placeholders.register();
+            getServer().getPluginManager().registerEvents(placeholders, this);
             getLogger().info("PlaceholderAPI expansion registered!");
         }
         
@@ -68,7 +81,7 @@ public final class BlockParty extends JavaPlugin {
             arenaManager.saveArenas();
         }
         if (statsManager != null) {
-            statsManager.saveStats();
+            statsManager.shutdown();
         }
         if (signManager != null) {
             signManager.saveSigns();
@@ -83,6 +96,10 @@ public final class BlockParty extends JavaPlugin {
         if (soundManager != null) {
             soundManager.cleanup();
         }
+
+        if (gameClock != null) {
+            gameClock.stop();
+        }
         
         getLogger().info("BlockParty has been disabled!");
     }
@@ -91,6 +108,14 @@ public final class BlockParty extends JavaPlugin {
         return instance;
     }
     
+    public GameClock getGameClock() {
+        return gameClock;
+    }
+
+    public ItemTags getItemTags() {
+        return itemTags;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -107,6 +132,10 @@ public final class BlockParty extends JavaPlugin {
         return gameManager;
     }
     
+    public EliminationManager getEliminationManager() {
+        return eliminationManager;
+    }
+    
     public SignManager getSignManager() {
         return signManager;
     }
@@ -0,0 +1,131 @@
+package nl.dutchcoding.blockparty.clock;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The single timer of the plugin. Game state machines, floor jobs, music and signs register here
+ * instead of scheduling their own Bukkit tasks, so the number of scheduler entries does not grow
+ * with the number of arenas.
+ */
+public class GameClock {
+
+    private final Plugin plugin; // Null for a clock that is only driven by hand
+    private final Logger logger;
+    private final List<Ticker> tickers;
+    private final PriorityQueue<Delayed> delayed;
+    private long currentTick;
+    private long sequence;
+    private BukkitTask task;
+
+    public GameClock(Plugin plugin) {
+        this(plugin, plugin.getLogger());
+    }
+
+    /**
+     * Creates a clock without a plugin, it only advances when {@link #tick()} is called
+     */
+    public GameClock(Logger logger) {
+        this(null, logger);
+    }
+
+    private GameClock(Plugin plugin, Logger logger) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.tickers = new ArrayList<>();
+        this.delayed = new PriorityQueue<>();
+    }
+
+    public void start() {
+        if (task == null && plugin != null) {
+            task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1, 1);
+        }
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        delayed.clear();
+    }
+
+    /**
+     * Runs the task every {@code period} ticks for as long as the clock runs
+     */
+    public void every(int period, Runnable task) {
+        tickers.add(new Ticker(Math.max(1, period), task));
+    }
+
+    /**
+     * Runs the task once, {@code delay} ticks from now
+     */
+    public void later(int delay, Runnable task) {
+        delayed.add(new Delayed(currentTick + Math.max(1, delay), sequence++, task));
+    }
+
+    /**
+     * Advances the clock by one tick. Called by the Bukkit timer, but can be driven by hand as well.
+     */
+    public void tick() {
+        currentTick++;
+
+        for (int i = 0; i < tickers.size(); i++) {
+            Ticker ticker = tickers.get(i);
+            if (currentTick % ticker.period == 0) {
+                run(ticker.task);
+            }
+        }
+
+        while (!delayed.isEmpty() && delayed.peek().dueTick <= currentTick) {
+            run(delayed.poll().task);
+        }
+    }
+
+    private void run(Runnable task) {
+        // One failing subsystem must not stop the others
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Error while running clock task", e);
+        }
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    private static final class Ticker {
+        private final int period;
+        private final Runnable task;
+
+        private Ticker(int period, Runnable task) {
+            this.period = period;
+            this.task = task;
+        }
+    }
+
+    private static final class Delayed implements Comparable<Delayed> {
+        private final long dueTick;
+        private final long sequence;
+        private final Runnable task;
+
+        private Delayed(long dueTick, long sequence, Runnable task) {
+            this.dueTick = dueTick;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            int compare = Long.compare(dueTick, other.dueTick);
+            return compare != 0 ? compare : Long.compare(sequence, other.sequence);
+        }
+    }
+}
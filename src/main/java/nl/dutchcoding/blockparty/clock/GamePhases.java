@@ -0,0 +1,225 @@
+package nl.dutchcoding.blockparty.clock;
+
+import nl.dutchcoding.blockparty.models.Game;
+
+/**
+ * The phase machine of a game: which phase follows which and when it is due on the game clock.
+ * What a game does in each phase (teleports, floors, messages) is left to the {@link Actions}, so
+ * the transitions can be driven by hand without a server.
+ */
+public class GamePhases {
+
+    private final GameClock clock;
+    private final Timings timings;
+    private final Actions actions;
+
+    public GamePhases(GameClock clock, Timings timings, Actions actions) {
+        this.clock = clock;
+        this.timings = timings;
+        this.actions = actions;
+    }
+
+    /**
+     * Starts counting down, the first second is announced right away
+     */
+    public void startCountdown(Game game) {
+        game.setCountdown(timings.getCountdownSeconds());
+        game.setPhase(Game.Phase.COUNTDOWN, clock.getCurrentTick());
+    }
+
+    /**
+     * Starts the game, the first round follows after the start delay
+     */
+    public void start(Game game) {
+        actions.startGame(game);
+        game.setPhase(Game.Phase.INTERMISSION, clock.getCurrentTick() + timings.getStartDelayTicks());
+    }
+
+    /**
+     * Ends the game, celebrating the winner first if there is one
+     */
+    public void end(Game game) {
+        game.setPhase(Game.Phase.WAITING, Game.NO_DEADLINE);
+        if (actions.endGame(game)) {
+            game.setPhase(Game.Phase.CELEBRATION, clock.getCurrentTick() + timings.getCelebrationTicks());
+        } else {
+            finish(game);
+        }
+    }
+
+    /**
+     * Acts on the current phase if it is due, called for every game on each clock tick
+     */
+    public void tick(Game game) {
+        long now = clock.getCurrentTick();
+        if (!game.isPhaseDue(now)) {
+            return;
+        }
+
+        switch (game.getPhase()) {
+            case COUNTDOWN:
+                tickCountdown(game, now);
+                break;
+            case INTERMISSION:
+                tickIntermission(game);
+                break;
+            case DANCE:
+                tickRoundTimer(game, now);
+                break;
+            case FALL_CHECK:
+                tickFallCheck(game, now);
+                break;
+            case CELEBRATION:
+                finish(game);
+                break;
+            default:
+                // WAITING, FLOOR_BUILD and REMOVE are left by events, not by the clock
+                break;
+        }
+    }
+
+    private void tickCountdown(Game game, long now) {
+        if (!actions.canStart(game)) {
+            game.setPhase(Game.Phase.WAITING, Game.NO_DEADLINE);
+            actions.cancelCountdown(game);
+            return;
+        }
+
+        int countdown = game.getCountdown();
+        if (countdown <= 0) {
+            start(game);
+            return;
+        }
+
+        actions.announceCountdown(game, countdown);
+        game.setCountdown(countdown - 1);
+        game.setPhaseDeadline(now + 20);
+    }
+
+    private void tickIntermission(Game game) {
+        if (game.hasWinner()) {
+            end(game);
+            return;
+        }
+
+        game.nextRound();
+        game.setPhase(Game.Phase.FLOOR_BUILD, Game.NO_DEADLINE);
+        // The round starts once every block has been placed, unless the game ended in the meantime
+        actions.buildFloor(game, () -> {
+            if (game.getPhase() == Game.Phase.FLOOR_BUILD) {
+                beginRound(game);
+            }
+        });
+    }
+
+    private void beginRound(Game game) {
+        long now = clock.getCurrentTick();
+        int roundTicks = timings.getRoundTicks(game.getRound());
+        actions.beginRound(game, roundTicks);
+
+        // The round ends on the exact tick even for sub-second times
+        game.setRoundEndTick(now + roundTicks);
+        game.setPhase(Game.Phase.DANCE, now);
+        tickRoundTimer(game, now);
+    }
+
+    private void tickRoundTimer(Game game, long now) {
+        long remaining = game.getRoundEndTick() - now;
+
+        if (remaining <= 0) {
+            game.setTimeLeft(0);
+            game.setPhase(Game.Phase.REMOVE, Game.NO_DEADLINE);
+            // Players off the floor are eliminated at removal, the fall check only lets the floor settle
+            actions.removeBlocks(game, () -> {
+                if (game.getPhase() == Game.Phase.REMOVE) {
+                    game.setPhase(Game.Phase.FALL_CHECK, clock.getCurrentTick() + timings.getFallCheckTicks());
+                }
+            });
+            return;
+        }
+
+        // Show whole seconds, rounded up so the timer never shows 0 while the floor is still there
+        int timeLeft = (int) ((remaining + 19) / 20);
+        game.setTimeLeft(timeLeft);
+        actions.showTimeLeft(game, timeLeft);
+
+        // Act again when the shown second changes, or when the round ends
+        game.setPhaseDeadline(now + (remaining - 1) % 20 + 1);
+    }
+
+    private void tickFallCheck(Game game, long now) {
+        actions.checkEliminations(game);
+
+        if (game.hasWinner()) {
+            end(game);
+            return;
+        }
+
+        game.setPhase(Game.Phase.INTERMISSION, now + timings.getIntermissionTicks());
+    }
+
+    private void finish(Game game) {
+        // Stop the state machine so a stale reference can never finish twice
+        game.setPhase(Game.Phase.WAITING, Game.NO_DEADLINE);
+        actions.finishGame(game);
+    }
+
+    /**
+     * How long each phase lasts, in ticks unless stated otherwise
+     */
+    public interface Timings {
+        int getCountdownSeconds();
+
+        int getStartDelayTicks();
+
+        int getRoundTicks(int round);
+
+        int getFallCheckTicks();
+
+        int getIntermissionTicks();
+
+        int getCelebrationTicks();
+    }
+
+    /**
+     * What a game does when it enters a phase
+     */
+    public interface Actions {
+        /**
+         * Whether the countdown may go on, checked every second
+         */
+        boolean canStart(Game game);
+
+        void cancelCountdown(Game game);
+
+        void announceCountdown(Game game, int seconds);
+
+        void startGame(Game game);
+
+        /**
+         * Builds the floor of the new round and selects its block, then runs {@code onBuilt}
+         */
+        void buildFloor(Game game, Runnable onBuilt);
+
+        void beginRound(Game game, int roundTicks);
+
+        void showTimeLeft(Game game, int seconds);
+
+        /**
+         * Removes every block but the selected one, then runs {@code onRemoved}
+         */
+        void removeBlocks(Game game, Runnable onRemoved);
+
+        void checkEliminations(Game game);
+
+        /**
+         * Announces the end of the game, returns true if a winner is celebrated before the game finishes
+         */
+        boolean endGame(Game game);
+
+        /**
+         * Sends everyone back and releases the game
+         */
+        void finishGame(Game game);
+    }
+}
@@ -1,8 +1,12 @@
 package nl.dutchcoding.blockparty.commands;
 
 import nl.dutchcoding.blockparty.BlockParty;
+import nl.dutchcoding.blockparty.managers.StatsManager;
 import nl.dutchcoding.blockparty.models.Arena;
+import nl.dutchcoding.blockparty.models.Game;
 import nl.dutchcoding.blockparty.models.PlayerStats;
+import nl.dutchcoding.blockparty.stats.Leaderboard;
+import nl.dutchcoding.blockparty.stats.LeaderboardType;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.block.Block;
@@ -43,6 +47,9 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
             case "stats":
                 handleStatsCommand(sender, args);
                 break;
+            case "top":
+                handleTopCommand(sender, args);
+                break;
             case "arena":
                 if (!sender.hasPermission("blockparty.admin")) {
                     sender.sendMessage(plugin.getMessageManager().getMessage("no-permission"));
@@ -57,6 +64,13 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
                 }
                 handleForceStartCommand(sender, args);
                 break;
+            case "seed":
+                if (!sender.hasPermission("blockparty.admin")) {
+                    sender.sendMessage(plugin.getMessageManager().getMessage("no-permission"));
+                    return true;
+                }
+                handleSeedCommand(sender, args);
+                break;
             case "sethub":
                 if (!sender.hasPermission("blockparty.admin")) {
                     sender.sendMessage(plugin.getMessageManager().getMessage("no-permission"));
@@ -144,34 +158,29 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
     
     private void handleCreateArena(Player player, String name) {
         if (plugin.getArenaManager().getArena(name) != null) {
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-already-exists")
-                .replace("{arena}", name));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-already-exists", "arena", name));
             return;
         }
         
         Arena arena = new Arena(name);
         plugin.getArenaManager().addArena(arena);
-        player.sendMessage(plugin.getMessageManager().getMessage("arena-created")
-            .replace("{arena}", name));
+        player.sendMessage(plugin.getMessageManager().getMessage("arena-created", "arena", name));
     }
     
     private void handleSetPosition(Player player, String arenaName, String posType) {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         if (arena == null) {
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
         
         Location loc = player.getLocation();
         if (posType.equals("pos1")) {
             arena.setPos1(loc);
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-pos1-set")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-pos1-set", "arena", arenaName));
         } else {
             arena.setPos2(loc);
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-pos2-set")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-pos2-set", "arena", arenaName));
         }
         
         plugin.getArenaManager().saveArenas();
@@ -180,36 +189,31 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
     private void handleSetSpawn(Player player, String arenaName) {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         if (arena == null) {
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
         
         arena.setSpawnLocation(player.getLocation());
-        player.sendMessage(plugin.getMessageManager().getMessage("arena-spawn-set")
-            .replace("{arena}", arenaName));
+        player.sendMessage(plugin.getMessageManager().getMessage("arena-spawn-set", "arena", arenaName));
         plugin.getArenaManager().saveArenas();
     }
     
     private void handleSetWaitLobby(Player player, String arenaName) {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         if (arena == null) {
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
 
         arena.setWaitLobby(player.getLocation());
-        player.sendMessage(plugin.getMessageManager().getMessage("arena-lobby-set")
-            .replace("{arena}", arenaName));
+        player.sendMessage(plugin.getMessageManager().getMessage("arena-lobby-set", "arena", arenaName));
         plugin.getArenaManager().saveArenas();
     }
 
     private void handleArenaInfo(Player player, String arenaName) {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         if (arena == null) {
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
 
@@ -264,8 +268,7 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
         
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         if (arena == null) {
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
         
@@ -276,11 +279,19 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
         }
         
         plugin.getSignManager().createSign(targetBlock.getLocation(), arenaName);
-        player.sendMessage(plugin.getMessageManager().getMessage("sign-created")
-            .replace("{arena}", arenaName));
+        player.sendMessage(plugin.getMessageManager().getMessage("sign-created", "arena", arenaName));
     }
     
     private void handleStatsCommand(CommandSender sender, String[] args) {
+        if (args.length == 2 && args[1].equalsIgnoreCase("migrate") && sender.hasPermission("blockparty.admin")) {
+            handleStatsMigrateCommand(sender);
+            return;
+        }
+        if (args.length == 2 && args[1].equalsIgnoreCase("cache") && sender.hasPermission("blockparty.admin")) {
+            handleStatsCacheCommand(sender);
+            return;
+        }
+
         if (!(sender instanceof Player)) {
             sender.sendMessage(plugin.getMessageManager().getMessage("player-only"));
             return;
@@ -300,12 +311,64 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
         }
 
         PlayerStats stats = plugin.getStatsManager().getPlayerStats(target.getUniqueId());
-        player.sendMessage(plugin.getMessageManager().getMessage("stats-header").replace("{player}", target.getName()));
-        player.sendMessage(plugin.getMessageManager().getMessage("stats-wins").replace("{wins}", String.valueOf(stats.getWins())));
-        player.sendMessage(plugin.getMessageManager().getMessage("stats-losses").replace("{losses}", String.valueOf(stats.getLosses())));
-        player.sendMessage(plugin.getMessageManager().getMessage("stats-games").replace("{games}", String.valueOf(stats.getGamesPlayed())));
-        player.sendMessage(plugin.getMessageManager().getMessage("stats-rounds").replace("{rounds}", String.valueOf(stats.getRoundsSurvived())));
-        player.sendMessage(plugin.getMessageManager().getMessage("stats-winrate").replace("{winrate}", String.format("%.2f", stats.getWinRate())));
+        player.sendMessage(plugin.getMessageManager().getMessage("stats-header", "player", target.getName()));
+        player.sendMessage(plugin.getMessageManager().getMessage("stats-wins", "wins", stats.getWins()));
+        player.sendMessage(plugin.getMessageManager().getMessage("stats-losses", "losses", stats.getLosses()));
+        player.sendMessage(plugin.getMessageManager().getMessage("stats-games", "games", stats.getGamesPlayed()));
+        player.sendMessage(plugin.getMessageManager().getMessage("stats-rounds", "rounds", stats.getRoundsSurvived()));
+        player.sendMessage(plugin.getMessageManager().getMessage("stats-winrate",
+            "winrate", String.format("%.2f", stats.getWinRate())));
+    }
+    
+    private void handleStatsMigrateCommand(CommandSender sender) {
+        if (!plugin.getStatsManager().hasYamlStats()) {
+            sender.sendMessage(plugin.getMessageManager().getMessage("stats-migrate-missing"));
+            return;
+        }
+
+        boolean started = plugin.getStatsManager().migrateFromYaml(count -> {
+            if (count < 0) {
+                sender.sendMessage(plugin.getMessageManager().getMessage("stats-migrate-failed"));
+            } else {
+                sender.sendMessage(plugin.getMessageManager().getMessage("stats-migrated", "count", count));
+            }
+        });
+
+        sender.sendMessage(plugin.getMessageManager().getMessage(started ? "stats-migrate-started" : "stats-migrate-yaml"));
+    }
+    
+    private void handleStatsCacheCommand(CommandSender sender) {
+        StatsManager stats = plugin.getStatsManager();
+        long lookups = stats.getCacheHits() + stats.getCacheMisses();
+        double hitRate = lookups == 0 ? 0 : (double) stats.getCacheHits() / lookups * 100;
+        sender.sendMessage(plugin.getMessageManager().getMessage("stats-cache",
+            "size", stats.getCacheSize(), "hits", stats.getCacheHits(), "misses", stats.getCacheMisses(),
+            "evictions", stats.getCacheEvictions(), "hitrate", String.format("%.1f", hitRate)));
+    }
+    
+    private void handleTopCommand(CommandSender sender, String[] args) {
+        LeaderboardType type = args.length > 1 ? LeaderboardType.fromKey(args[1]) : LeaderboardType.WINS;
+        if (type == null) {
+            sender.sendMessage(plugin.getMessageManager().getMessage("top-usage"));
+            return;
+        }
+
+        Leaderboard leaderboard = plugin.getStatsManager().getLeaderboard();
+        if (leaderboard == null) {
+            sender.sendMessage(plugin.getMessageManager().getMessage("top-loading"));
+            return;
+        }
+
+        List<Leaderboard.Entry> top = leaderboard.getTop(type, 10);
+        sender.sendMessage(plugin.getMessageManager().getMessage("top-header", "type", type.getKey()));
+        if (top.isEmpty()) {
+            sender.sendMessage(plugin.getMessageManager().getMessage("top-empty"));
+        }
+        for (int i = 0; i < top.size(); i++) {
+            Leaderboard.Entry entry = top.get(i);
+            sender.sendMessage(plugin.getMessageManager().getMessage("top-entry",
+                "rank", i + 1, "player", leaderboard.getName(entry), "value", type.format(entry)));
+        }
     }
     
     private void handleJoinCommand(CommandSender sender, String[] args) {
@@ -325,8 +388,7 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         
         if (arena == null) {
-            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            player.sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
         
@@ -364,23 +426,55 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         
         if (arena == null) {
-            sender.sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            sender.sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
         
-        if (plugin.getGameManager().forceStartGame(arenaName)) {
-            sender.sendMessage(plugin.getMessageManager().getMessage("game-force-started")
-                .replace("{arena}", arenaName));
+        // An optional seed replays the floors and block picks of an earlier game
+        boolean started;
+        if (args.length >= 3) {
+            long seed;
+            try {
+                seed = Long.parseLong(args[2]);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(plugin.getMessageManager().getMessage("invalid-seed", "seed", args[2]));
+                return;
+            }
+            started = plugin.getGameManager().forceStartGame(arenaName, seed);
+        } else {
+            started = plugin.getGameManager().forceStartGame(arenaName);
+        }
+
+        if (started) {
+            sender.sendMessage(plugin.getMessageManager().getMessage("game-force-started", "arena", arenaName));
         } else {
-            sender.sendMessage(plugin.getMessageManager().getMessage("cannot-force-start")
-                .replace("{arena}", arenaName));
+            sender.sendMessage(plugin.getMessageManager().getMessage("cannot-force-start", "arena", arenaName));
         }
     }
     
+    private void handleSeedCommand(CommandSender sender, String[] args) {
+        if (args.length < 2) {
+            sender.sendMessage(plugin.getMessageManager().getMessage("seed-usage"));
+            return;
+        }
+
+        String arenaName = args[1];
+        Game game = plugin.getGameManager().getActiveGames().get(arenaName);
+        if (game == null || game.getRandom() == null) {
+            sender.sendMessage(plugin.getMessageManager().getMessage("no-game-running", "arena", arenaName));
+            return;
+        }
+
+        sender.sendMessage(plugin.getMessageManager().getMessage("game-seed",
+            "arena", arenaName, "seed", game.getRandom().getSeed()));
+    }
+
     private void handleReloadCommand(CommandSender sender) {
         plugin.getConfigManager().loadConfigs();
+        plugin.getMessageManager().loadMessages();
         plugin.getArenaManager().reloadArenas();
+        plugin.getGameManager().getFloorPatterns().clear();
+        plugin.getScoreboardManager().loadTemplates();
         sender.sendMessage(plugin.getMessageManager().getMessage("plugin-reloaded"));
     }
     
@@ -389,7 +483,8 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
         sender.sendMessage("§e/bp join <arena> §7- Join a game");
         sender.sendMessage("§e/bp leave §7- Leave current game");
         if (sender.hasPermission("blockparty.admin")) {
-            sender.sendMessage("§e/bp forcestart <arena> §7- Force start a game");
+            sender.sendMessage("§e/bp forcestart <arena> [seed] §7- Force start a game");
+            sender.sendMessage("§e/bp seed <arena> §7- Show the seed of a running game");
             sender.sendMessage("§e/bp arena create <name> §7- Create a new arena");
             sender.sendMessage("§e/bp arena pos1|pos2 <arena> §7- Set floor positions");
             sender.sendMessage("§e/bp arena setspawn <arena> §7- Set arena spawn");
@@ -398,8 +493,11 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
             sender.sendMessage("§e/bp sethub §7- Set main hub spawn");
             sender.sendMessage("§e/bp setsign <arena> §7- Create join sign");
             sender.sendMessage("§e/bp reload §7- Reload configuration");
+            sender.sendMessage("§e/bp stats cache §7- Show stats cache usage");
+            sender.sendMessage("§e/bp stats migrate §7- Copy stats.yml into the SQLite storage");
         }
         sender.sendMessage("§e/bp stats [player] §7- View player stats");
+        sender.sendMessage("§e/bp top [wins|winrate|rounds] §7- View the leaderboard");
     }
 
     @Override
@@ -407,14 +505,20 @@ public class BlockPartyCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("join", "leave", "stats"));
+            completions.addAll(Arrays.asList("join", "leave", "stats", "top"));
             if (sender.hasPermission("blockparty.admin")) {
-                completions.addAll(Arrays.asList("forcestart", "arena", "sethub", "setsign", "reload"));
+                completions.addAll(Arrays.asList("forcestart", "seed", "arena", "sethub", "setsign", "reload"));
             }
         } else if (args.length == 2 && args[0].equalsIgnoreCase("join")) {
             completions.addAll(plugin.getArenaManager().getArenaNames());
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("top")) {
+            for (LeaderboardType type : LeaderboardType.values()) {
+                completions.add(type.getKey());
+            }
         } else if (args.length == 2 && args[0].equalsIgnoreCase("forcestart")) {
             completions.addAll(plugin.getArenaManager().getArenaNames());
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("seed")) {
+            completions.addAll(plugin.getGameManager().getActiveGames().keySet());
         } else if (args.length == 2 && args[0].equalsIgnoreCase("arena")) {
             completions.addAll(Arrays.asList("create", "pos1", "pos2", "setspawn", "waitlobby", "info"));
         } else if (args.length == 2 && args[0].equalsIgnoreCase("setsign")) {
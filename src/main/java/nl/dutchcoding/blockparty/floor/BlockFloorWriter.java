@@ -0,0 +1,19 @@
+package nl.dutchcoding.blockparty.floor;
+
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import org.bukkit.Material;
+
+/**
+ * Fallback writer that updates every cell as a regular block change, including physics.
+ */
+public class BlockFloorWriter implements FloorWriter {
+
+    @Override
+    public void write(FloorIndex floor, Material[] palette, byte[] grid, int[] cells, int from, int to) {
+        for (int i = from; i < to; i++) {
+            int cell = cells[i];
+            byte value = grid[cell];
+            floor.getBlock(cell).setType(value == FloorGrid.EMPTY ? Material.AIR : palette[value]);
+        }
+    }
+}
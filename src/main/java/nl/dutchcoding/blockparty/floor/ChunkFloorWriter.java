@@ -0,0 +1,55 @@
+package nl.dutchcoding.blockparty.floor;
+
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import org.bukkit.Chunk;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Writes floor cells chunk by chunk with physics disabled, reusing one BlockData per material.
+ * Because all changes to a chunk section happen in the same tick, the server sends them as a
+ * single multi-block-change packet instead of one packet per block.
+ */
+public class ChunkFloorWriter implements FloorWriter {
+
+    private final Map<Material, BlockData> blockData = new EnumMap<>(Material.class);
+
+    @Override
+    public void write(FloorIndex floor, Material[] palette, byte[] grid, int[] cells, int from, int to) {
+        World world = floor.getWorld();
+        int y = floor.getY();
+
+        BlockData air = getBlockData(Material.AIR);
+        BlockData[] paletteData = new BlockData[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            paletteData[i] = getBlockData(palette[i]);
+        }
+
+        Chunk chunk = null;
+        int chunkX = 0;
+        int chunkZ = 0;
+        for (int i = from; i < to; i++) {
+            int cell = cells[i];
+            int x = floor.getX(cell);
+            int z = floor.getZ(cell);
+
+            // Cells arrive grouped by chunk, so this lookup happens once per chunk
+            if (chunk == null || x >> 4 != chunkX || z >> 4 != chunkZ) {
+                chunkX = x >> 4;
+                chunkZ = z >> 4;
+                chunk = world.getChunkAt(chunkX, chunkZ);
+            }
+
+            byte value = grid[cell];
+            chunk.getBlock(x & 15, y, z & 15).setBlockData(value == FloorGrid.EMPTY ? air : paletteData[value], false);
+        }
+    }
+
+    private BlockData getBlockData(Material material) {
+        return blockData.computeIfAbsent(material, Material::createBlockData);
+    }
+}
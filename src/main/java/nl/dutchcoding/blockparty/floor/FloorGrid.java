@@ -0,0 +1,38 @@
+package nl.dutchcoding.blockparty.floor;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for floor grids: one byte per floor cell holding an index into the game block palette.
+ */
+public final class FloorGrid {
+
+    /** Cell value for a removed (air) block */
+    public static final byte EMPTY = -1;
+
+    /** Cell value for a block whose contents in the world are not known yet */
+    public static final byte UNKNOWN = -2;
+
+    private FloorGrid() {
+    }
+
+    public static byte[] unknown(int size) {
+        byte[] grid = new byte[size];
+        Arrays.fill(grid, UNKNOWN);
+        return grid;
+    }
+
+    /**
+     * Writes the cells (taken in {@code order}) whose value differs between both grids into
+     * {@code changed} and returns how many there are.
+     */
+    public static int diff(byte[] current, byte[] target, int[] order, int[] changed) {
+        int count = 0;
+        for (int cell : order) {
+            if (current[cell] != target[cell]) {
+                changed[count++] = cell;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,128 @@
+package nl.dutchcoding.blockparty.floor;
+
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import org.bukkit.Material;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Spreads floor writes over several ticks. All arenas share one blocks-per-tick budget,
+ * jobs of the same arena run in submission order. {@link #tick()} is driven by the game clock.
+ */
+public class FloorJobScheduler {
+
+    private final FloorWriter writer;
+    private final Map<String, Deque<FloorJob>> queues;
+    private final List<Deque<FloorJob>> active; // Reused between ticks
+    private int blocksPerTick;
+    private int rotation; // Arena that gets the first share next tick
+
+    public FloorJobScheduler(FloorWriter writer, int blocksPerTick) {
+        this.writer = writer;
+        this.queues = new LinkedHashMap<>();
+        this.active = new ArrayList<>();
+        setBlocksPerTick(blocksPerTick);
+    }
+
+    /**
+     * Queues a write of {@code cells[0..count)} for the given key (usually the arena name).
+     * The callback runs on the main thread once every cell of the job has been written.
+     */
+    public void submit(String key, FloorIndex floor, Material[] palette, byte[] grid, int[] cells, int count, Runnable onComplete) {
+        queues.computeIfAbsent(key, k -> new ArrayDeque<>())
+            .add(new FloorJob(floor, palette, grid, cells, count, onComplete));
+    }
+
+    public void tick() {
+        if (queues.isEmpty()) {
+            return;
+        }
+
+        List<Runnable> completed = new ArrayList<>();
+        int budget = blocksPerTick;
+        active.addAll(queues.values());
+        int size = active.size();
+
+        // Start at a different arena every tick, so a budget smaller than the number of arenas
+        // does not always go to the same ones
+        int start = Math.floorMod(rotation++, size);
+        for (int i = 0; i < size && budget > 0; i++) {
+            Deque<FloorJob> queue = active.get((start + i) % size);
+
+            // Split what is left of the budget evenly over the arenas that still have work
+            int share = Math.max(1, budget / (size - i));
+            while (share > 0 && !queue.isEmpty()) {
+                FloorJob job = queue.peek();
+                int written = job.writeNext(writer, share);
+                share -= written;
+                budget -= written;
+
+                if (job.isDone()) {
+                    queue.poll();
+                    if (job.onComplete != null) {
+                        completed.add(job.onComplete);
+                    }
+                }
+            }
+        }
+        active.clear();
+        queues.values().removeIf(Deque::isEmpty);
+
+        // Callbacks may submit new jobs, so they run after the queues have been walked
+        for (Runnable callback : completed) {
+            callback.run();
+        }
+    }
+
+    /**
+     * Writes every pending job immediately without running callbacks (used on shutdown)
+     */
+    public void flush() {
+        for (Deque<FloorJob> queue : queues.values()) {
+            for (FloorJob job : queue) {
+                job.writeNext(writer, Integer.MAX_VALUE);
+            }
+        }
+        queues.clear();
+    }
+
+    public void setBlocksPerTick(int blocksPerTick) {
+        this.blocksPerTick = Math.max(1, blocksPerTick);
+    }
+
+    private static class FloorJob {
+        private final FloorIndex floor;
+        private final Material[] palette;
+        private final byte[] grid;
+        private final int[] cells;
+        private final int count;
+        private final Runnable onComplete;
+        private int position;
+
+        private FloorJob(FloorIndex floor, Material[] palette, byte[] grid, int[] cells, int count, Runnable onComplete) {
+            this.floor = floor;
+            this.palette = palette;
+            this.grid = grid;
+            this.cells = cells;
+            this.count = count;
+            this.onComplete = onComplete;
+        }
+
+        private int writeNext(FloorWriter writer, int limit) {
+            int end = (int) Math.min(count, (long) position + limit);
+            writer.write(floor, palette, grid, cells, position, end);
+            int written = end - position;
+            position = end;
+            return written;
+        }
+
+        private boolean isDone() {
+            return position >= count;
+        }
+    }
+}
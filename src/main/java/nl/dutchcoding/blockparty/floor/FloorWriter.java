@@ -0,0 +1,16 @@
+package nl.dutchcoding.blockparty.floor;
+
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import org.bukkit.Material;
+
+/**
+ * Paints floor cells into the world.
+ */
+public interface FloorWriter {
+
+    /**
+     * Writes {@code palette[grid[cell]]} for every cell in {@code cells[from..to)}.
+     * Cells holding {@link FloorGrid#EMPTY} are cleared to air.
+     */
+    void write(FloorIndex floor, Material[] palette, byte[] grid, int[] cells, int from, int to);
+}
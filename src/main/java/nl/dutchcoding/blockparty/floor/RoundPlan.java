@@ -0,0 +1,61 @@
+package nl.dutchcoding.blockparty.floor;
+
+import nl.dutchcoding.blockparty.models.FloorIndex;
+
+import java.util.Arrays;
+
+/**
+ * Everything the main thread needs to start a round: the new floor, the selected block and the
+ * cells that differ from the floor the plan was computed against.
+ */
+public final class RoundPlan {
+
+    private final int round;
+    private final FloorIndex floor;
+    private final byte[] baseGrid;
+    private final byte[] targetGrid;
+    private final int selectedBlock;
+    private final int[] changedCells;
+    private final int changedCount;
+
+    RoundPlan(int round, FloorIndex floor, byte[] baseGrid, byte[] targetGrid, int selectedBlock, int[] changedCells, int changedCount) {
+        this.round = round;
+        this.floor = floor;
+        this.baseGrid = baseGrid;
+        this.targetGrid = targetGrid;
+        this.selectedBlock = selectedBlock;
+        this.changedCells = changedCells;
+        this.changedCount = changedCount;
+    }
+
+    /**
+     * Whether this plan can be applied to the given round and current floor grid
+     */
+    public boolean isValidFor(int round, FloorIndex floor, byte[] currentGrid) {
+        return this.round == round && this.floor == floor && Arrays.equals(baseGrid, currentGrid);
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public FloorIndex getFloor() {
+        return floor;
+    }
+
+    public byte[] getTargetGrid() {
+        return targetGrid;
+    }
+
+    public int getSelectedBlock() {
+        return selectedBlock;
+    }
+
+    public int[] getChangedCells() {
+        return changedCells;
+    }
+
+    public int getChangedCount() {
+        return changedCount;
+    }
+}
@@ -0,0 +1,64 @@
+package nl.dutchcoding.blockparty.floor;
+
+import nl.dutchcoding.blockparty.floor.pattern.FloorPatternCache;
+import nl.dutchcoding.blockparty.models.FloorIndex;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
+
+/**
+ * Computes the floor and selected block of a round, either right away or on an async worker.
+ */
+public class RoundPlanner {
+
+    private final FloorPatternCache patterns;
+    private final Executor asyncExecutor;
+
+    public RoundPlanner(FloorPatternCache patterns, Executor asyncExecutor) {
+        this.patterns = patterns;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * Plans a round in the background. The current grid is copied, so the caller may keep modifying it.
+     */
+    public CompletableFuture<RoundPlan> planAsync(int round, FloorIndex floor, byte[] currentGrid, String pattern, int colors, RandomGenerator random) {
+        byte[] baseGrid = currentGrid.clone();
+        return CompletableFuture.supplyAsync(() -> plan(round, floor, baseGrid, pattern, colors, random), asyncExecutor);
+    }
+
+    public RoundPlan plan(int round, FloorIndex floor, byte[] baseGrid, String pattern, int colors, RandomGenerator random) {
+        byte[] target = patterns.createGrid(pattern, floor, colors, random);
+        int selected = pickSelectedBlock(target, colors, random);
+
+        int[] changed = new int[target.length];
+        int count = FloorGrid.diff(baseGrid, target, floor.getChunkOrder(), changed);
+        return new RoundPlan(round, floor, baseGrid, target, selected, changed, count);
+    }
+
+    /**
+     * Picks a random palette index among the colors present on the floor, so the selected block can always be found
+     */
+    public static int pickSelectedBlock(byte[] grid, int colors, RandomGenerator random) {
+        boolean[] present = new boolean[colors];
+        int presentCount = 0;
+        for (byte value : grid) {
+            if (value >= 0 && !present[value]) {
+                present[value] = true;
+                presentCount++;
+            }
+        }
+        if (presentCount == 0) {
+            return random.nextInt(colors);
+        }
+
+        int pick = random.nextInt(presentCount);
+        for (int i = 0; i < colors; i++) {
+            if (present[i] && pick-- == 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
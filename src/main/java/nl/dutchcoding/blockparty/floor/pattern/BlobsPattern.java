@@ -0,0 +1,46 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Irregular color regions: every cell takes the color of the nearest of a set of random seed points (Voronoi).
+ */
+public class BlobsPattern implements FloorPattern {
+
+    private static final int CELLS_PER_SEED = 24;
+
+    @Override
+    public String getName() {
+        return "blobs";
+    }
+
+    @Override
+    public void generate(byte[] grid, int width, int length, int colors, RandomGenerator random) {
+        int seeds = Math.max(colors, width * length / CELLS_PER_SEED);
+        int[] seedX = new int[seeds];
+        int[] seedZ = new int[seeds];
+        byte[] seedColor = new byte[seeds];
+        for (int i = 0; i < seeds; i++) {
+            seedX[i] = random.nextInt(width);
+            seedZ[i] = random.nextInt(length);
+            seedColor[i] = (byte) (i < colors ? i : random.nextInt(colors));
+        }
+
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < length; dz++) {
+                int nearest = 0;
+                int nearestDistance = Integer.MAX_VALUE;
+                for (int i = 0; i < seeds; i++) {
+                    int x = seedX[i] - dx;
+                    int z = seedZ[i] - dz;
+                    int distance = x * x + z * z;
+                    if (distance < nearestDistance) {
+                        nearestDistance = distance;
+                        nearest = i;
+                    }
+                }
+                grid[dx * length + dz] = seedColor[nearest];
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Square tiles where every tile differs in color from the tiles left of and above it.
+ */
+public class CheckerboardPattern implements FloorPattern {
+
+    @Override
+    public String getName() {
+        return "checkerboard";
+    }
+
+    @Override
+    public void generate(byte[] grid, int width, int length, int colors, RandomGenerator random) {
+        int tileSize = 2 + random.nextInt(3);
+        int tilesX = (width + tileSize - 1) / tileSize;
+        int tilesZ = (length + tileSize - 1) / tileSize;
+
+        byte[] tiles = new byte[tilesX * tilesZ];
+        for (int tx = 0; tx < tilesX; tx++) {
+            for (int tz = 0; tz < tilesZ; tz++) {
+                int left = tx > 0 ? tiles[(tx - 1) * tilesZ + tz] : -1;
+                int up = tz > 0 ? tiles[tx * tilesZ + tz - 1] : -1;
+                int color = random.nextInt(colors);
+                if (colors > 1) {
+                    // With only two colors the tile above cannot be avoided as well
+                    while (color == left || (colors > 2 && color == up)) {
+                        color = random.nextInt(colors);
+                    }
+                }
+                tiles[tx * tilesZ + tz] = (byte) color;
+            }
+        }
+
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < length; dz++) {
+                grid[dx * length + dz] = tiles[(dx / tileSize) * tilesZ + dz / tileSize];
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates the layout of a floor. Grids are row-major ({@code dx * length + dz}), matching
+ * the cell order of {@link nl.dutchcoding.blockparty.models.FloorIndex}.
+ */
+public interface FloorPattern {
+
+    String getName();
+
+    /**
+     * Fills the grid with color indices in {@code [0, colors)}
+     */
+    void generate(byte[] grid, int width, int length, int colors, RandomGenerator random);
+
+    /**
+     * Whether layouts may be precomputed and reused for every floor of the same size.
+     * Cached layouts get a fresh color assignment each round.
+     */
+    default boolean isCacheable() {
+        return true;
+    }
+}
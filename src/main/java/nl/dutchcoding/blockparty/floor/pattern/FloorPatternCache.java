@@ -0,0 +1,147 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
+
+/**
+ * Registry of floor patterns plus a cache of precomputed layouts per floor size.
+ * Layouts are generated on an async worker with fixed seeds, so a round only has to pick
+ * one of them and map its colors onto the palette.
+ */
+public class FloorPatternCache {
+
+    /** Number of precomputed layouts kept per pattern and floor size */
+    private static final int VARIANTS = 4;
+
+    private final Plugin plugin;
+    private final Executor asyncExecutor;
+    private final Map<String, FloorPattern> patterns;
+    private final Map<String, CompletableFuture<byte[]>> layouts;
+
+    public FloorPatternCache(Plugin plugin) {
+        this.plugin = plugin;
+        this.asyncExecutor = task -> plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+        this.patterns = new ConcurrentHashMap<>();
+        this.layouts = new ConcurrentHashMap<>();
+
+        register(new RandomPattern());
+        register(new StripesPattern());
+        register(new CheckerboardPattern());
+        register(new BlobsPattern());
+        register(new NoisePattern());
+    }
+
+    public void register(FloorPattern pattern) {
+        patterns.put(pattern.getName(), pattern);
+    }
+
+    /**
+     * Looks up a pattern by name. {@code image:<file>} loads a PNG from the plugin's patterns folder.
+     */
+    public FloorPattern getPattern(String name) {
+        FloorPattern pattern = patterns.get(name.toLowerCase());
+        if (pattern == null && name.toLowerCase().startsWith("image:")) {
+            String fileName = name.substring("image:".length());
+            File file = new File(new File(plugin.getDataFolder(), "patterns"), fileName);
+            if (file.isFile()) {
+                pattern = new ImagePattern(name.toLowerCase(), file);
+                register(pattern);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Starts computing the layouts of a pattern for the given floor in the background
+     */
+    public void prepare(String patternName, FloorIndex floor, int colors) {
+        FloorPattern pattern = getPattern(patternName);
+        if (pattern == null || !pattern.isCacheable()) return;
+
+        for (int variant = 0; variant < VARIANTS; variant++) {
+            getLayout(pattern, floor.getWidth(), floor.getLength(), colors, variant);
+        }
+    }
+
+    /**
+     * Creates a new floor grid from the given pattern. Falls back to the random pattern when the name is unknown.
+     */
+    public byte[] createGrid(String patternName, FloorIndex floor, int colors, RandomGenerator random) {
+        FloorPattern pattern = getPattern(patternName);
+        if (pattern == null) {
+            plugin.getLogger().warning("Unknown floor pattern: " + patternName + ", using random");
+            pattern = patterns.get("random");
+        }
+
+        byte[] grid = new byte[floor.size()];
+        if (!pattern.isCacheable()) {
+            pattern.generate(grid, floor.getWidth(), floor.getLength(), colors, random);
+            return grid;
+        }
+
+        int variant = random.nextInt(VARIANTS);
+        CompletableFuture<byte[]> future = getLayout(pattern, floor.getWidth(), floor.getLength(), colors, variant);
+        if (!future.isDone()) {
+            // Not precomputed yet: generate it here, the fixed seed gives the same result as the worker
+            completeLayout(future, pattern, floor.getWidth(), floor.getLength(), colors, variant);
+        }
+        byte[] layout = future.join();
+
+        // Give the cached layout a fresh set of colors
+        byte[] colorMap = new byte[colors];
+        for (int i = 0; i < colors; i++) {
+            int j = random.nextInt(i + 1);
+            colorMap[i] = colorMap[j];
+            colorMap[j] = (byte) i;
+        }
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] = colorMap[layout[cell]];
+        }
+        return grid;
+    }
+
+    private CompletableFuture<byte[]> getLayout(FloorPattern pattern, int width, int length, int colors, int variant) {
+        String key = pattern.getName() + ":" + width + "x" + length + ":" + colors + ":" + variant;
+
+        CompletableFuture<byte[]> layout = layouts.get(key);
+        if (layout == null) {
+            CompletableFuture<byte[]> created = new CompletableFuture<>();
+            layout = layouts.putIfAbsent(key, created);
+            if (layout == null) {
+                layout = created;
+                asyncExecutor.execute(() -> completeLayout(created, pattern, width, length, colors, variant));
+            }
+        }
+        return layout;
+    }
+
+    private void completeLayout(CompletableFuture<byte[]> layout, FloorPattern pattern, int width, int length, int colors, int variant) {
+        if (layout.isDone()) return;
+
+        byte[] grid = new byte[width * length];
+        SplittableRandom random = new SplittableRandom(31L * pattern.getName().hashCode() + variant);
+        try {
+            pattern.generate(grid, width, length, colors, random);
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Could not generate floor pattern " + pattern.getName() + ": " + e.getMessage());
+            new RandomPattern().generate(grid, width, length, colors, random);
+        }
+        layout.complete(grid);
+    }
+
+    /**
+     * Drops all cached layouts and loaded images, used on reload
+     */
+    public void clear() {
+        layouts.clear();
+        patterns.values().removeIf(pattern -> pattern instanceof ImagePattern);
+    }
+}
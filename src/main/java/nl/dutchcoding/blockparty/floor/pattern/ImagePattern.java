@@ -0,0 +1,59 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Floor layout taken from a PNG file, scaled to the floor size. Every distinct pixel color
+ * becomes its own floor color (wrapping around when the image has more colors than the palette).
+ */
+public class ImagePattern implements FloorPattern {
+
+    private final String name;
+    private final File file;
+    private BufferedImage image;
+
+    public ImagePattern(String name, File file) {
+        this.name = name;
+        this.file = file;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void generate(byte[] grid, int width, int length, int colors, RandomGenerator random) {
+        BufferedImage source = getImage();
+        Map<Integer, Byte> pixelColors = new HashMap<>();
+
+        for (int dx = 0; dx < width; dx++) {
+            int px = dx * source.getWidth() / width;
+            for (int dz = 0; dz < length; dz++) {
+                int pz = dz * source.getHeight() / length;
+                int rgb = source.getRGB(px, pz);
+                grid[dx * length + dz] = pixelColors.computeIfAbsent(rgb, c -> (byte) (pixelColors.size() % colors));
+            }
+        }
+    }
+
+    private synchronized BufferedImage getImage() {
+        if (image == null) {
+            try {
+                image = ImageIO.read(file);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not read pattern image " + file.getName(), e);
+            }
+            if (image == null) {
+                throw new IllegalStateException("Unsupported pattern image " + file.getName());
+            }
+        }
+        return image;
+    }
+}
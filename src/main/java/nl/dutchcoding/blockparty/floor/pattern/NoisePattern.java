@@ -0,0 +1,49 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Smooth value noise: a coarse random lattice, bilinearly interpolated and split into color bands.
+ */
+public class NoisePattern implements FloorPattern {
+
+    private static final int SCALE = 6;
+
+    @Override
+    public String getName() {
+        return "noise";
+    }
+
+    @Override
+    public void generate(byte[] grid, int width, int length, int colors, RandomGenerator random) {
+        int latticeX = width / SCALE + 2;
+        int latticeZ = length / SCALE + 2;
+        double[] lattice = new double[latticeX * latticeZ];
+        for (int i = 0; i < lattice.length; i++) {
+            lattice[i] = random.nextDouble();
+        }
+
+        for (int dx = 0; dx < width; dx++) {
+            int lx = dx / SCALE;
+            double fx = smooth((dx % SCALE) / (double) SCALE);
+            for (int dz = 0; dz < length; dz++) {
+                int lz = dz / SCALE;
+                double fz = smooth((dz % SCALE) / (double) SCALE);
+
+                double top = lerp(lattice[lx * latticeZ + lz], lattice[(lx + 1) * latticeZ + lz], fx);
+                double bottom = lerp(lattice[lx * latticeZ + lz + 1], lattice[(lx + 1) * latticeZ + lz + 1], fx);
+                double value = lerp(top, bottom, fz);
+
+                grid[dx * length + dz] = (byte) Math.min(colors - 1, (int) (value * colors));
+            }
+        }
+    }
+
+    private static double smooth(double t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+}
@@ -0,0 +1,27 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Every cell gets an independent random color (the classic BlockParty floor).
+ */
+public class RandomPattern implements FloorPattern {
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    @Override
+    public void generate(byte[] grid, int width, int length, int colors, RandomGenerator random) {
+        for (int cell = 0; cell < grid.length; cell++) {
+            grid[cell] = (byte) random.nextInt(colors);
+        }
+    }
+
+    @Override
+    public boolean isCacheable() {
+        // Cheap to generate and should never repeat
+        return false;
+    }
+}
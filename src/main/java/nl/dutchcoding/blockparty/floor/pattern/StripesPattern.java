@@ -0,0 +1,27 @@
+package nl.dutchcoding.blockparty.floor.pattern;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Straight stripes along the x or z axis, cycling through the colors.
+ */
+public class StripesPattern implements FloorPattern {
+
+    @Override
+    public String getName() {
+        return "stripes";
+    }
+
+    @Override
+    public void generate(byte[] grid, int width, int length, int colors, RandomGenerator random) {
+        int stripeWidth = 1 + random.nextInt(3);
+        boolean alongX = random.nextBoolean();
+
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < length; dz++) {
+                int position = alongX ? dz : dx;
+                grid[dx * length + dz] = (byte) ((position / stripeWidth) % colors);
+            }
+        }
+    }
+}
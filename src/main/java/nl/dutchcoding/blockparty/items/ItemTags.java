@@ -0,0 +1,46 @@
+package nl.dutchcoding.blockparty.items;
+
+import org.bukkit.NamespacedKey;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Marks the items the plugin hands out with a persistent data tag, so they can be recognized by a
+ * single tag lookup instead of comparing names and lore.
+ */
+public class ItemTags {
+
+    public static final String LOBBY_ITEM = "lobby-item";
+    public static final String GAME_BLOCK = "game-block";
+
+    private final NamespacedKey key;
+
+    public ItemTags(Plugin plugin) {
+        this.key = new NamespacedKey(plugin, "item");
+    }
+
+    /**
+     * Tags the meta with the given item type, the meta still has to be set on the item
+     */
+    public void tag(ItemMeta meta, String type) {
+        meta.getPersistentDataContainer().set(key, PersistentDataType.STRING, type);
+    }
+
+    /**
+     * Checks the tag of an item. The Spigot API only exposes the tag through a copy of the item meta,
+     * so callers should rule out items by material first.
+     */
+    public boolean is(ItemStack item, String type) {
+        if (item == null) {
+            return false;
+        }
+        // Checked before anything else: hasItemMeta does not copy the meta, and items without meta
+        // (including air) can never carry the tag
+        if (!item.hasItemMeta()) {
+            return false;
+        }
+        return type.equals(item.getItemMeta().getPersistentDataContainer().get(key, PersistentDataType.STRING));
+    }
+}
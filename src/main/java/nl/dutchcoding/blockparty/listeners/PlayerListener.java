@@ -4,9 +4,9 @@ import nl.dutchcoding.blockparty.BlockParty;
 import nl.dutchcoding.blockparty.models.Game;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.block.BlockBreakEvent;
@@ -25,6 +25,11 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
     
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        plugin.getStatsManager().loadPlayer(event.getPlayer().getUniqueId());
+    }
+    
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         if (plugin.getGameManager().isPlayerInGame(event.getPlayer())) {
@@ -34,6 +39,7 @@ public class PlayerListener implements Listener {
         else if (plugin.getInventoryManager().hasSavedData(event.getPlayer())) {
             plugin.getInventoryManager().removeSavedData(event.getPlayer());
         }
+        plugin.getStatsManager().releasePlayer(event.getPlayer().getUniqueId());
     }
     
     @EventHandler
@@ -50,19 +56,10 @@ public class PlayerListener implements Listener {
         boolean isPlaying = game.getState() == Game.GameState.PLAYING;
 
         if (isPlaying) {
-            game.eliminatePlayer(player.getUniqueId());
-
-            player.sendMessage(plugin.getMessageManager().getMessage("eliminated"));
-            plugin.getGameManager().broadcastToGame(game, plugin.getMessageManager().getMessage("player-eliminated")
-                .replace("{player}", player.getName()));
-
-            plugin.getSoundManager().playDeathSound(player);
-
-            plugin.getStatsManager().getPlayerStats(player.getUniqueId()).addLoss();
-            plugin.getStatsManager().getPlayerStats(player.getUniqueId()).addRoundsSurvived(game.getRound());
+            plugin.getEliminationManager().eliminate(game, player);
         }
 
-        org.bukkit.Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getGameClock().later(1, () -> {
             player.spigot().respawn();
             player.setHealth(20);
 
@@ -73,38 +70,9 @@ public class PlayerListener implements Listener {
                     plugin.getGameManager().eliminatePlayerReturn(player);
                 }
             }
-        }, 1L);
+        });
     }
     
-    @EventHandler
-    public void onPlayerMove(PlayerMoveEvent event) {
-        Game game = plugin.getGameManager().getPlayerGame(event.getPlayer());
-        if (game == null) return;
-
-        // Check if player fell into void during game
-        if (game.getState() == Game.GameState.PLAYING &&
-            game.isPlayerAlive(event.getPlayer()) &&
-            event.getTo().getY() < game.getArena().getPos1().getY() - 10) {
-
-            game.eliminatePlayer(event.getPlayer().getUniqueId());
-            if (plugin.getConfigManager().isSpectatorOnEliminate()) {
-                event.getPlayer().setGameMode(GameMode.SPECTATOR);
-                event.getPlayer().teleport(game.getArena().getSpawnLocation());
-            } else {
-                plugin.getGameManager().eliminatePlayerReturn(event.getPlayer());
-            }
-
-            event.getPlayer().sendMessage(plugin.getMessageManager().getMessage("eliminated"));
-            plugin.getGameManager().broadcastToGame(game, plugin.getMessageManager().getMessage("player-eliminated")
-                .replace("{player}", event.getPlayer().getName()));
-            plugin.getSoundManager().playDeathSound(event.getPlayer());
-            
-            // Update stats
-            plugin.getStatsManager().getPlayerStats(event.getPlayer().getUniqueId()).addLoss();
-            plugin.getStatsManager().getPlayerStats(event.getPlayer().getUniqueId()).addRoundsSurvived(game.getRound());
-        }
-    }
-
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
         if (!(event.getWhoClicked() instanceof org.bukkit.entity.Player)) return;
@@ -112,11 +80,8 @@ public class PlayerListener implements Listener {
 
         if (!plugin.getGameManager().isPlayerInGame(player)) return;
 
-        ItemStack item = event.getCurrentItem();
-        if (item != null && item.hasItemMeta() && item.getItemMeta().hasLore()) {
-            if (item.getItemMeta().getLore().contains("BlockParty Block")) {
-                event.setCancelled(true);
-            }
+        if (plugin.getGameManager().isBlockItem(event.getCurrentItem())) {
+            event.setCancelled(true);
         }
     }
     @EventHandler
@@ -126,11 +91,8 @@ public class PlayerListener implements Listener {
         Player victim = (Player) event.getEntity();
         Player attacker = (Player) event.getDamager();
 
-        Game victimGame = plugin.getGameManager().getPlayerGame(victim);
-        Game attackerGame = plugin.getGameManager().getPlayerGame(attacker);
-
         // Disable PVP if either player is in a game (waiting or playing)
-        if (victimGame != null || attackerGame != null) {
+        if (plugin.getGameManager().isPlayerInGame(victim) || plugin.getGameManager().isPlayerInGame(attacker)) {
             event.setCancelled(true);
         }
     }
@@ -141,11 +103,8 @@ public class PlayerListener implements Listener {
 
         if (!plugin.getGameManager().isPlayerInGame(player)) return;
 
-        ItemStack item = event.getItemDrop().getItemStack();
-        if (item.hasItemMeta() && item.getItemMeta().hasLore()) {
-            if (item.getItemMeta().getLore().contains("BlockParty Block")) {
-                event.setCancelled(true);
-            }
+        if (plugin.getGameManager().isBlockItem(event.getItemDrop().getItemStack())) {
+            event.setCancelled(true);
         }
     }
 
@@ -2,6 +2,7 @@ package nl.dutchcoding.blockparty.listeners;
 
 import nl.dutchcoding.blockparty.BlockParty;
 import nl.dutchcoding.blockparty.models.Arena;
+import nl.dutchcoding.blockparty.models.JoinSign;
 import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 import org.bukkit.event.EventHandler;
@@ -9,6 +10,7 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
 
 public class SignListener implements Listener {
     
@@ -23,16 +25,17 @@ public class SignListener implements Listener {
         if (event.getAction() != Action.RIGHT_CLICK_BLOCK) return;
         
         Block block = event.getClickedBlock();
-        if (block == null || !(block.getState() instanceof Sign)) return;
+        if (block == null) return;
         
-        if (!plugin.getSignManager().isJoinSign(block.getLocation())) return;
+        // Position lookup first, most clicks are not on a join sign
+        JoinSign joinSign = plugin.getSignManager().getJoinSign(block);
+        if (joinSign == null || !(block.getState() instanceof Sign)) return;
         
-        String arenaName = plugin.getSignManager().getArenaFromSign(block.getLocation());
+        String arenaName = joinSign.getArenaName();
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         
         if (arena == null) {
-            event.getPlayer().sendMessage(plugin.getMessageManager().getMessage("arena-not-found")
-                .replace("{arena}", arenaName));
+            event.getPlayer().sendMessage(plugin.getMessageManager().getMessage("arena-not-found", "arena", arenaName));
             return;
         }
         
@@ -43,7 +46,7 @@ public class SignListener implements Listener {
     public void onBlockBreak(BlockBreakEvent event) {
         Block block = event.getBlock();
         
-        if (plugin.getSignManager().isJoinSign(block.getLocation())) {
+        if (plugin.getSignManager().getJoinSign(block) != null) {
             if (!event.getPlayer().hasPermission("blockparty.admin")) {
                 event.setCancelled(true);
                 event.getPlayer().sendMessage(plugin.getMessageManager().getMessage("no-permission"));
@@ -54,4 +57,9 @@ public class SignListener implements Listener {
             event.getPlayer().sendMessage(plugin.getMessageManager().getMessage("sign-removed"));
         }
     }
-}
\ No newline at end of file
+
+    @EventHandler
+    public void onChunkLoad(ChunkLoadEvent event) {
+        plugin.getSignManager().onChunkLoad(event.getChunk());
+    }
+}
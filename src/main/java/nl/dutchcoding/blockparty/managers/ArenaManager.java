@@ -48,6 +48,7 @@ public class ArenaManager {
                     Map<String, Object> arenaData = arenasConfig.getConfigurationSection("arenas." + name).getValues(false);
                     arenaData.put("name", name);
                     Arena arena = new Arena(arenaData);
+                    arena.setKillPlaneDepth(plugin.getConfigManager().getKillPlaneDepth());
                     arenas.put(name, arena);
 
                     // Log setup status
@@ -63,6 +64,11 @@ public class ArenaManager {
         }
 
         plugin.getLogger().info("Loaded " + arenas.size() + " arenas.");
+
+        // Signs show "Arena not found" until their arena is loaded
+        if (plugin.getSignManager() != null) {
+            plugin.getSignManager().publishAll();
+        }
     }
     
     public void saveArenas() {
@@ -82,6 +88,7 @@ public class ArenaManager {
     }
     
     public void addArena(Arena arena) {
+        arena.setKillPlaneDepth(plugin.getConfigManager().getKillPlaneDepth());
         arenas.put(arena.getName(), arena);
     }
     
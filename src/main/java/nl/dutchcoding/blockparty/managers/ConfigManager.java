@@ -101,20 +101,106 @@ public class ConfigManager {
     public java.util.List<String> getGameBlocks() {
         return config.getStringList("blocks");
     }
+
+    // Floor configurations
+    public String getFloorWriter() {
+        return config.getString("floor.writer", "chunk");
+    }
+
+    public int getFloorBlocksPerTick() {
+        return config.getInt("floor.blocks-per-tick", 4096);
+    }
+    
+    /**
+     * Blocks below the floor at which a falling player is eliminated
+     */
+    public int getKillPlaneDepth() {
+        return Math.max(1, config.getInt("elimination.kill-depth", 3));
+    }
+    
+    /**
+     * How far from a kept block, in blocks, a player may stand and still count as standing on it
+     */
+    public double getEdgeGrace() {
+        return Math.max(0, config.getDouble("elimination.edge-grace", 0.3));
+    }
+    
+    // Stats configurations
+    public String getStatsStorage() {
+        return config.getString("stats.storage", "yaml");
+    }
+
+    public int getStatsSaveInterval() {
+        return Math.max(1, config.getInt("stats.save-interval", 60));
+    }
+
+    public int getStatsCacheSize() {
+        return Math.max(0, config.getInt("stats.cache-size", 1000));
+    }
+
+    public int getLeaderboardMinGames() {
+        return Math.max(1, config.getInt("stats.leaderboard-min-games", 10));
+    }
+
+    public int getStatsShutdownTimeout() {
+        return Math.max(1, config.getInt("stats.shutdown-timeout", 10));
+    }
     
     // Timer configurations
-    public int getRoundTime(int round) {
+    /**
+     * Returns the round time in ticks. Times are configured in seconds and may be fractional (e.g. 0.5).
+     */
+    public int getRoundTicks(int round) {
+        String path = findRoundPath("round-times", round);
+        return toTicks(path != null ? timersConfig.getDouble(path) : 1);
+    }
+
+    public int getPhaseTicks(String phase, double defaultSeconds) {
+        return toTicks(timersConfig.getDouble("phase-times." + phase, defaultSeconds));
+    }
+
+    private int toTicks(double seconds) {
+        return Math.max(1, (int) Math.round(seconds * 20));
+    }
+
+    public java.util.List<String> getRoundPatterns(int round) {
+        String path = findRoundPath("round-patterns", round);
+        if (path == null) {
+            return java.util.List.of("random");
+        }
+        if (timersConfig.isList(path)) {
+            return timersConfig.getStringList(path);
+        }
+        return java.util.List.of(timersConfig.getString(path, "random"));
+    }
+
+    public java.util.Set<String> getConfiguredPatterns() {
+        java.util.Set<String> patterns = new java.util.HashSet<>();
+        if (timersConfig.isConfigurationSection("round-patterns")) {
+            for (String key : timersConfig.getConfigurationSection("round-patterns").getKeys(false)) {
+                String path = "round-patterns." + key;
+                if (timersConfig.isList(path)) {
+                    patterns.addAll(timersConfig.getStringList(path));
+                } else {
+                    patterns.add(timersConfig.getString(path, "random"));
+                }
+            }
+        }
+        return patterns;
+    }
+
+    private String findRoundPath(String section, int round) {
         // Check for exact round match first
-        if (timersConfig.contains("round-times.round-" + round)) {
-            return timersConfig.getInt("round-times.round-" + round);
+        if (timersConfig.contains(section + ".round-" + round)) {
+            return section + ".round-" + round;
         }
         // Fall back to the nearest previously defined round
         for (int i = round - 1; i >= 1; i--) {
-            if (timersConfig.contains("round-times.round-" + i)) {
-                return timersConfig.getInt("round-times.round-" + i);
+            if (timersConfig.contains(section + ".round-" + i)) {
+                return section + ".round-" + i;
             }
         }
-        return 1;
+        return null;
     }
     
     // Sound configurations
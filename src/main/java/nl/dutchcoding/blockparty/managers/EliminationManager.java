@@ -0,0 +1,125 @@
+package nl.dutchcoding.blockparty.managers;
+
+import nl.dutchcoding.blockparty.BlockParty;
+import nl.dutchcoding.blockparty.models.FloorIndex;
+import nl.dutchcoding.blockparty.models.Game;
+import nl.dutchcoding.blockparty.models.PlayerSession;
+import nl.dutchcoding.blockparty.models.PlayerStats;
+import org.bukkit.GameMode;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Eliminates players of running games. Players standing on removed blocks are eliminated the moment
+ * the floor is cleared, based on the floor grid. As a fallback, the alive players of playing games
+ * are checked once per tick against the kill plane of their arena, a few blocks below the floor.
+ */
+public class EliminationManager {
+
+    private final BlockParty plugin;
+    private final Location position; // Reused for every position lookup
+    private final List<Player> fallen; // Reused between scans
+
+    public EliminationManager(BlockParty plugin) {
+        this.plugin = plugin;
+        this.position = new Location(null, 0, 0, 0);
+        this.fallen = new ArrayList<>();
+        plugin.getGameClock().every(1, this::scan);
+    }
+
+    private void scan() {
+        for (Game game : plugin.getGameManager().getActiveGames().values()) {
+            FloorIndex floor = game.getArena().getFloor();
+            if (game.getState() != Game.GameState.PLAYING || floor == null) {
+                continue;
+            }
+
+            double killPlane = game.getArena().getKillPlane();
+            for (Player player : game.getAliveAudience().getPlayers()) {
+                player.getLocation(position);
+                if (position.getWorld() == floor.getWorld() && position.getY() < killPlane) {
+                    fallen.add(player);
+                }
+            }
+
+            // Eliminating changes the alive players, so it happens after the scan
+            for (Player player : fallen) {
+                eliminateFallen(game, player);
+            }
+            fallen.clear();
+        }
+    }
+
+    /**
+     * Eliminates every alive player that will have no floor block under them once the floor matches
+     * the target grid. A player counts as standing on a block if any block within the configured
+     * edge grace of their position is kept.
+     */
+    public void eliminateOffFloor(Game game, FloorIndex floor, byte[] target, byte kept) {
+        double grace = plugin.getConfigManager().getEdgeGrace();
+        for (Player player : game.getAliveAudience().getPlayers()) {
+            player.getLocation(position);
+            if (position.getWorld() != floor.getWorld()) {
+                continue;
+            }
+
+            int minX = (int) Math.floor(position.getX() - grace);
+            int maxX = (int) Math.floor(position.getX() + grace);
+            int minZ = (int) Math.floor(position.getZ() - grace);
+            int maxZ = (int) Math.floor(position.getZ() + grace);
+            if (!standsOnKept(floor, target, kept, minX, maxX, minZ, maxZ)) {
+                fallen.add(player);
+            }
+        }
+
+        for (Player player : fallen) {
+            eliminateFallen(game, player);
+        }
+        fallen.clear();
+    }
+
+    private boolean standsOnKept(FloorIndex floor, byte[] target, byte kept, int minX, int maxX, int minZ, int maxZ) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                int cell = floor.indexOf(x, z);
+                if (cell >= 0 && target[cell] == kept) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void eliminateFallen(Game game, Player player) {
+        eliminate(game, player);
+        if (plugin.getConfigManager().isSpectatorOnEliminate()) {
+            player.setGameMode(GameMode.SPECTATOR);
+            player.teleport(game.getArena().getSpawnLocation());
+        } else {
+            plugin.getGameManager().eliminatePlayerReturn(player);
+        }
+    }
+
+    /**
+     * Marks a player as out of the game: tells everyone, plays the death sound and records the loss
+     */
+    public void eliminate(Game game, Player player) {
+        game.eliminatePlayer(player.getUniqueId());
+        PlayerSession session = plugin.getGameManager().getSession(player);
+        if (session != null) {
+            session.setAlive(false);
+        }
+
+        player.sendMessage(plugin.getMessageManager().getMessage("eliminated"));
+        plugin.getGameManager().broadcastToGame(game, plugin.getMessageManager().getMessage("player-eliminated",
+            "player", player.getName()));
+        plugin.getSoundManager().playDeathSound(player);
+
+        PlayerStats stats = plugin.getStatsManager().getPlayerStats(player.getUniqueId());
+        stats.addLoss();
+        stats.addRoundsSurvived(game.getRound());
+    }
+}
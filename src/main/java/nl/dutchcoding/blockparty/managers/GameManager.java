@@ -1,36 +1,85 @@
 package nl.dutchcoding.blockparty.managers;
 
 import nl.dutchcoding.blockparty.BlockParty;
+import nl.dutchcoding.blockparty.clock.GameClock;
+import nl.dutchcoding.blockparty.clock.GamePhases;
+import nl.dutchcoding.blockparty.floor.BlockFloorWriter;
+import nl.dutchcoding.blockparty.floor.ChunkFloorWriter;
+import nl.dutchcoding.blockparty.floor.FloorGrid;
+import nl.dutchcoding.blockparty.floor.FloorJobScheduler;
+import nl.dutchcoding.blockparty.floor.FloorWriter;
+import nl.dutchcoding.blockparty.floor.RoundPlan;
+import nl.dutchcoding.blockparty.floor.RoundPlanner;
+import nl.dutchcoding.blockparty.floor.pattern.FloorPatternCache;
+import nl.dutchcoding.blockparty.items.ItemTags;
 import nl.dutchcoding.blockparty.models.Arena;
+import nl.dutchcoding.blockparty.models.Broadcast;
+import nl.dutchcoding.blockparty.models.FloorIndex;
 import nl.dutchcoding.blockparty.models.Game;
+import nl.dutchcoding.blockparty.models.GameRandom;
+import nl.dutchcoding.blockparty.models.PlayerSession;
 import nl.dutchcoding.blockparty.models.PlayerStats;
-import net.md_5.bungee.api.ChatMessageType;
-import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.*;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Firework;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.FireworkMeta;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class GameManager {
 
     private final BlockParty plugin;
     private final Map<String, Game> activeGames;
-    private final Map<UUID, String> playerArenas;
+    private final Map<UUID, PlayerSession> sessions; // Players currently in a game
     private final List<Material> gameBlocks;
+    private Material[] blockPalette;
+    private final Map<Material, ItemStack> blockItems; // Prebuilt selected block items
+    private final FloorJobScheduler floorJobs;
+    private final Map<FloorIndex, byte[]> floorGrids; // Last written material per floor cell
+    private final FloorPatternCache floorPatterns;
+    private final RoundPlanner roundPlanner;
     private final ScoreboardManager scoreboardManager;
+    private final GameClock clock;
+    private final GamePhases phases;
+    private final List<Game> tickingGames;
+    private int gamesVersion; // Bumped whenever sign status is published
     
     public GameManager(BlockParty plugin) {
         this.plugin = plugin;
         this.activeGames = new HashMap<>();
-        this.playerArenas = new HashMap<>();
+        this.sessions = new HashMap<>();
+        this.blockItems = new EnumMap<>(Material.class);
         this.gameBlocks = new ArrayList<>();
+        this.floorGrids = new WeakHashMap<>();
+        this.floorPatterns = new FloorPatternCache(plugin);
+        this.roundPlanner = new RoundPlanner(floorPatterns,
+            task -> Bukkit.getScheduler().runTaskAsynchronously(plugin, task));
         this.scoreboardManager = plugin.getScoreboardManager();
+        this.clock = plugin.getGameClock();
+        this.phases = new GamePhases(clock, new PhaseTimings(), new PhaseActions());
+        this.tickingGames = new ArrayList<>();
 
         loadGameBlocks();
+        this.floorJobs = new FloorJobScheduler(createFloorWriter(), plugin.getConfigManager().getFloorBlocksPerTick());
+
+        // Game phases act first, so floor jobs they submit start writing in the same tick
+        clock.every(1, this::tick);
+        clock.every(1, floorJobs::tick);
+    }
+
+    private FloorWriter createFloorWriter() {
+        String writer = plugin.getConfigManager().getFloorWriter();
+        if (writer.equalsIgnoreCase("block")) {
+            return new BlockFloorWriter();
+        }
+        if (!writer.equalsIgnoreCase("chunk")) {
+            plugin.getLogger().warning("Invalid floor writer: " + writer + ", defaulting to chunk");
+        }
+        return new ChunkFloorWriter();
     }
     
     private void loadGameBlocks() {
@@ -39,7 +88,14 @@ public class GameManager {
         for (String blockName : blockNames) {
             try {
                 Material material = Material.valueOf(blockName.toUpperCase());
-                gameBlocks.add(material);
+                // Every color needs one palette index, the floor grid is matched by index
+                if (gameBlocks.contains(material)) {
+                    plugin.getLogger().warning("Duplicate block material: " + blockName);
+                } else if (gameBlocks.size() >= Byte.MAX_VALUE) {
+                    plugin.getLogger().warning("Too many block materials, ignoring: " + blockName);
+                } else {
+                    gameBlocks.add(material);
+                }
             } catch (IllegalArgumentException e) {
                 plugin.getLogger().warning("Invalid block material: " + blockName);
             }
@@ -52,6 +108,8 @@ public class GameManager {
                 Material.YELLOW_WOOL, Material.ORANGE_WOOL, Material.PURPLE_WOOL
             ));
         }
+
+        blockPalette = gameBlocks.toArray(new Material[0]);
     }
     
     public boolean joinGame(Player player, Arena arena) {
@@ -79,13 +137,14 @@ public class GameManager {
         }
 
         game.addPlayer(player);
-        playerArenas.put(player.getUniqueId(), arena.getName());
+        publishSignStatus(game);
 
         // Save player's current inventory and state (remove any existing saved data first)
         if (plugin.getInventoryManager().hasSavedData(player)) {
             plugin.getInventoryManager().removeSavedData(player);
         }
-        plugin.getInventoryManager().savePlayerData(player);
+        InventoryManager.PlayerInventoryData savedState = plugin.getInventoryManager().savePlayerData(player);
+        sessions.put(player.getUniqueId(), new PlayerSession(player, game, player.getLocation(), savedState));
 
         // Teleport to waiting lobby
         player.teleport(arena.getWaitLobby());
@@ -102,10 +161,8 @@ public class GameManager {
         updateWaitingScoreboards(game);
 
         // Send join message
-        broadcastToGame(game, plugin.getMessageManager().getMessage("player-joined")
-            .replace("{player}", player.getName())
-            .replace("{current}", String.valueOf(game.getPlayers().size()))
-            .replace("{max}", String.valueOf(arena.getMaxPlayers())));
+        broadcastToGame(game, plugin.getMessageManager().getMessage("player-joined",
+            "player", player.getName(), "current", game.getPlayers().size(), "max", arena.getMaxPlayers()));
 
         // Start countdown if minimum players reached
         if (game.canStart() && game.getState() == Game.GameState.WAITING) {
@@ -116,20 +173,19 @@ public class GameManager {
     }
     
     public void leaveGame(Player player) {
-        String arenaName = playerArenas.get(player.getUniqueId());
-        if (arenaName == null) return;
-        
-        Game game = activeGames.get(arenaName);
-        if (game == null) return;
+        PlayerSession session = sessions.remove(player.getUniqueId());
+        if (session == null) return;
+        session.setAlive(false);
         
+        Game game = session.getGame();
         game.removePlayer(player);
-        playerArenas.remove(player.getUniqueId());
+        publishSignStatus(game);
 
         // Remove scoreboard
         scoreboardManager.removeScoreboard(player);
 
         // Restore player
-        restorePlayer(player);
+        restorePlayer(player, session);
 
         // Update scoreboards for remaining players if game still active
         if (!game.getPlayers().isEmpty()) {
@@ -141,82 +197,83 @@ public class GameManager {
         }
 
         // Send leave message
-        broadcastToGame(game, plugin.getMessageManager().getMessage("player-left")
-            .replace("{player}", player.getName())
-            .replace("{current}", String.valueOf(game.getPlayers().size()))
-            .replace("{max}", String.valueOf(game.getArena().getMaxPlayers())));
+        broadcastToGame(game, plugin.getMessageManager().getMessage("player-left",
+            "player", player.getName(), "current", game.getPlayers().size(), "max", game.getArena().getMaxPlayers()));
 
         // Check if game should end
         if (game.getPlayers().isEmpty()) {
-            endGame(game);
+            phases.end(game);
         } else if (game.getState() == Game.GameState.PLAYING && game.hasWinner()) {
-            endGame(game);
+            phases.end(game);
         }
     }
     
+    /**
+     * Advances the state machine of every game, called by the game clock each tick
+     */
+    private void tick() {
+        // Games may end (and be removed) while ticking
+        tickingGames.addAll(activeGames.values());
+        try {
+            for (Game game : tickingGames) {
+                phases.tick(game);
+            }
+        } finally {
+            tickingGames.clear();
+        }
+    }
+
     private void startCountdown(Game game) {
         game.setState(Game.GameState.STARTING);
-        game.setCountdown(plugin.getConfigManager().getCountdownTime());
-        
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (game.getState() != Game.GameState.STARTING) {
-                    cancel();
-                    return;
-                }
-                
-                int countdown = game.getCountdown();
-                
-                if (game.getPlayers().size() < game.getArena().getMinPlayers()) {
-                    game.setState(Game.GameState.WAITING);
-                    broadcastToGame(game, plugin.getMessageManager().getMessage("not-enough-players"));
-                    cancel();
-                    return;
-                }
-                
-                if (countdown <= 0) {
-                    startGame(game);
-                    cancel();
-                    return;
-                }
-                
-                if (countdown <= 10 || countdown % 10 == 0) {
-                    broadcastToGame(game, plugin.getMessageManager().getMessage("countdown")
-                        .replace("{time}", String.valueOf(countdown)));
-                    
-                    // Play sound
-                    for (UUID playerId : game.getPlayers()) {
-                        Player player = Bukkit.getPlayer(playerId);
-                        if (player != null) {
-                            plugin.getSoundManager().playCountdownSound(player);
-                        }
-                    }
-                }
-                
-                game.setCountdown(countdown - 1);
-            }
-        }.runTaskTimer(plugin, 0, 20);
+        publishSignStatus(game);
+        phases.startCountdown(game);
     }
-    
+
+    private void cancelCountdown(Game game) {
+        game.setState(Game.GameState.WAITING);
+        publishSignStatus(game);
+        broadcastToGame(game, plugin.getMessageManager().getMessage("not-enough-players"));
+    }
+
+    private void announceCountdown(Game game, int countdown) {
+        if (countdown <= 10 || countdown % 10 == 0) {
+            game.getAudience().send(new Broadcast()
+                .chat(plugin.getMessageManager().getMessage("countdown", "time", countdown))
+                .sound(plugin.getSoundManager()::playCountdownSound));
+        }
+    }
+
     private void startGame(Game game) {
         game.setState(Game.GameState.PLAYING);
+        publishSignStatus(game);
         game.setRound(0);
 
+        // Floors and block picks are derived from this seed, log it so the game can be replayed.
+        // A forced start may have set the seed already.
+        if (game.getRandom() == null) {
+            game.setRandom(new GameRandom(ThreadLocalRandom.current().nextLong()));
+        }
+        plugin.getLogger().info("Starting game in arena " + game.getArena().getName() + " with seed " + game.getRandom().getSeed());
+
         // Teleport players to arena
-        for (UUID playerId : game.getPlayers()) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null) {
-                // Remove lobby item when game starts
-                plugin.getLobbyItemManager().removeLobbyItem(player);
-                
-                player.teleport(game.getArena().getSpawnLocation());
-                player.setGameMode(GameMode.SURVIVAL);
+        for (Player player : game.getAudience().getPlayers()) {
+            // Remove lobby item when game starts
+            plugin.getLobbyItemManager().removeLobbyItem(player);
+
+            player.teleport(game.getArena().getSpawnLocation());
+            player.setGameMode(GameMode.SURVIVAL);
+        }
+
+        // Precompute the pattern layouts this arena will use in the background
+        FloorIndex floor = game.getArena().getFloor();
+        if (floor != null) {
+            for (String pattern : plugin.getConfigManager().getConfiguredPatterns()) {
+                floorPatterns.prepare(pattern, floor, blockPalette.length);
             }
         }
 
         // Generate floor
-        generateFloor(game);
+        generateFloor(game, null);
 
         // Set in-game scoreboards
         updateIngameScoreboards(game);
@@ -226,48 +283,65 @@ public class GameManager {
         // Reset music progress for new game
         plugin.getSoundManager().resetGameMusic(game.getArena().getName());
 
-        // Start game loop
-        startGameLoop(game);
-
         // Music will start at the beginning of each round
     }
     
-    private void startGameLoop(Game game) {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (game.getState() != Game.GameState.PLAYING) {
-                    cancel();
-                    return;
-                }
-                
-                if (game.hasWinner()) {
-                    endGame(game);
-                    cancel();
-                    return;
-                }
-                
-                startNewRound(game);
-            }
-        }.runTaskLater(plugin, 20 * 3); // 3 second delay between rounds
+    private void startNewRound(Game game, Runnable onBuilt) {
+        FloorIndex floor = game.getArena().getFloor();
+        SplittableRandom random = game.getRandom().forRound(game.getRound());
+
+        // Use the floor prepared in the background during the previous removal, if it is ready
+        RoundPlan plan = takeRoundPlan(game, floor);
+        if (plan == null && floor != null) {
+            plan = roundPlanner.plan(game.getRound(), floor, getFloorGrid(floor).clone(),
+                chooseFloorPattern(game.getRound(), random), blockPalette.length, random);
+        }
+
+        // Select random block from the colors on the new floor
+        int selectedIndex = plan != null ? plan.getSelectedBlock() : random.nextInt(blockPalette.length);
+        game.setSelectedBlock(blockPalette[selectedIndex], selectedIndex);
+
+        // Regenerate floor, the round starts once every block has been placed
+        if (plan != null) {
+            submitFloor(game, floor, plan.getTargetGrid(), plan.getChangedCells(), plan.getChangedCount(), onBuilt);
+        } else {
+            onBuilt.run();
+        }
     }
-    
-    private void startNewRound(Game game) {
-        game.nextRound();
 
-        // Select random block
-        Material selectedBlock = gameBlocks.get(new Random().nextInt(gameBlocks.size()));
-        game.setSelectedBlock(selectedBlock);
+    private RoundPlan takeRoundPlan(Game game, FloorIndex floor) {
+        CompletableFuture<RoundPlan> future = game.getNextRoundPlan();
+        game.setNextRoundPlan(null);
+        if (future == null || floor == null) {
+            return null;
+        }
+
+        RoundPlan plan = future.getNow(null);
+        if (plan == null || !plan.isValidFor(game.getRound(), floor, getFloorGrid(floor))) {
+            return null;
+        }
+        return plan;
+    }
+
+    /**
+     * Starts computing the next round's floor and selected block on an async worker
+     */
+    private void planNextRound(Game game) {
+        FloorIndex floor = game.getArena().getFloor();
+        if (floor == null) return;
+
+        int nextRound = game.getRound() + 1;
+        SplittableRandom random = game.getRandom().forRound(nextRound);
+        game.setNextRoundPlan(roundPlanner.planAsync(nextRound, floor, getFloorGrid(floor),
+            chooseFloorPattern(nextRound, random), blockPalette.length, random));
+    }
 
-        // Regenerate floor
-        generateFloor(game);
+    private void beginRound(Game game, int roundTicks) {
+        Material selectedBlock = game.getSelectedBlock();
 
         // Give selected block to players
-        for (UUID playerId : game.getAlivePlayers()) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null) {
-                giveSelectedBlock(player, selectedBlock);
-            }
+        for (Player player : game.getAliveAudience().getPlayers()) {
+            giveSelectedBlock(player, selectedBlock);
         }
 
         // Resume music for new round
@@ -277,123 +351,135 @@ public class GameManager {
         updateIngameScoreboards(game);
 
         // Send round info
-        String title = plugin.getMessageManager().getTitle("round-start")
-            .replace("{round}", String.valueOf(game.getRound()));
-        String subtitle = plugin.getMessageManager().getSubtitle("round-start")
-            .replace("{block}", formatBlockName(selectedBlock))
-            .replace("{time}", String.valueOf(plugin.getConfigManager().getRoundTime(game.getRound())));
-
-        for (UUID playerId : game.getAlivePlayers()) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null) {
-                player.sendTitle(title, subtitle,
-                    plugin.getMessageManager().getTitleFadeIn("round-start"),
-                    plugin.getMessageManager().getTitleStay("round-start"),
-                    plugin.getMessageManager().getTitleFadeOut("round-start"));
+        String title = plugin.getMessageManager().getTitle("round-start", "round", game.getRound());
+        String subtitle = plugin.getMessageManager().getSubtitle("round-start",
+            "block", formatBlockName(selectedBlock), "time", formatSeconds(roundTicks));
+
+        game.getAliveAudience().send(new Broadcast()
+            .title(title, subtitle,
+                plugin.getMessageManager().getTitleFadeIn("round-start"),
+                plugin.getMessageManager().getTitleStay("round-start"),
+                plugin.getMessageManager().getTitleFadeOut("round-start")));
+    }
 
-                // Start playing music (this will be handled by the game-wide music system)
-            }
-        }
+    private void showTimeLeft(Game game, int timeLeft) {
+        // Update actionbar timer
+        game.getAliveAudience().send(new Broadcast()
+            .actionbar(plugin.getMessageManager().getActionbar("timer", "time", timeLeft)));
 
+        // Update scoreboard time
+        scoreboardManager.updateIngameScoreboards(game);
+    }
 
+    private void endRound(Game game, Runnable onRemoved) {
+        // Round ended - pause music and remove wrong blocks
+        plugin.getSoundManager().pauseGameMusic(game);
+        removeWrongBlocks(game, onRemoved);
 
-        // Start round timer
-        startRoundTimer(game);
+        // Prepare the next floor while players fall and the intermission runs
+        planNextRound(game);
     }
-    
-    private void startRoundTimer(Game game) {
-        game.setTimeLeft(plugin.getConfigManager().getRoundTime(game.getRound()));
-        
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (game.getState() != Game.GameState.PLAYING) {
-                    cancel();
-                    return;
-                }
-                
-                int timeLeft = game.getTimeLeft();
-                
-                if (timeLeft <= 0) {
-                    // Round ended - pause music and remove wrong blocks
-                    plugin.getSoundManager().pauseGameMusic(game);
-                    removeWrongBlocks(game);
-
-                    // Check for eliminations
-                    checkEliminations(game);
-                    
-                    // Continue game loop
-                    new BukkitRunnable() {
-                        @Override
-                        public void run() {
-                            startGameLoop(game);
-                        }
-                    }.runTaskLater(plugin, 20 * 2);
-                    
-                    cancel();
-                    return;
-                }
-                
-                // Update actionbar timer
-                String timerMessage = plugin.getMessageManager().getActionbar("timer")
-                    .replace("{time}", String.valueOf(timeLeft));
-
-                for (UUID playerId : game.getAlivePlayers()) {
-                    Player player = Bukkit.getPlayer(playerId);
-                    if (player != null) {
-                        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent(timerMessage));
-                        // Update scoreboard time
-                        scoreboardManager.setIngameScoreboard(player, game.getRound(), timeLeft, game.getAlivePlayers().size(), game.getArena().getMaxPlayers());
-                    }
-                }
 
-                game.setTimeLeft(timeLeft - 1);
-            }
-        }.runTaskTimer(plugin, 20, 20);
+    private String formatSeconds(int ticks) {
+        return ticks % 20 == 0 ? String.valueOf(ticks / 20) : String.valueOf(ticks / 20.0);
     }
     
-    private void generateFloor(Game game) {
-        Set<Location> floorBlocks = game.getArena().getFloorBlocks();
-        
-        for (Location loc : floorBlocks) {
-            Material randomBlock = gameBlocks.get(new Random().nextInt(gameBlocks.size()));
-            loc.getBlock().setType(randomBlock);
+    private void generateFloor(Game game, Runnable onComplete) {
+        FloorIndex floor = game.getArena().getFloor();
+        if (floor == null) {
+            if (onComplete != null) onComplete.run();
+            return;
         }
+
+        applyFloor(game, floor, createFloorGrid(game, floor, game.getRandom().forRound(game.getRound())), onComplete);
+    }
+
+    private byte[] createFloorGrid(Game game, FloorIndex floor, RandomGenerator random) {
+        return floorPatterns.createGrid(chooseFloorPattern(game.getRound(), random), floor, blockPalette.length, random);
+    }
+
+    private String chooseFloorPattern(int round, RandomGenerator random) {
+        List<String> patterns = plugin.getConfigManager().getRoundPatterns(round);
+        return patterns.isEmpty() ? "random" : patterns.get(random.nextInt(patterns.size()));
     }
     
-    private void removeWrongBlocks(Game game) {
-        Set<Location> floorBlocks = game.getArena().getFloorBlocks();
-        
-        for (Location loc : floorBlocks) {
-            if (loc.getBlock().getType() != game.getSelectedBlock()) {
-                loc.getBlock().setType(Material.AIR);
-            }
+    private void removeWrongBlocks(Game game, Runnable onComplete) {
+        FloorIndex floor = game.getArena().getFloor();
+        if (floor == null) {
+            if (onComplete != null) onComplete.run();
+            return;
+        }
+
+        // Work from the in-memory grid instead of reading every block back from the world
+        byte selected = (byte) game.getSelectedBlockIndex();
+        byte[] current = getFloorGrid(floor);
+        byte[] target = new byte[current.length];
+        for (int cell = 0; cell < target.length; cell++) {
+            target[cell] = current[cell] == selected ? selected : FloorGrid.EMPTY;
         }
+
+        applyFloor(game, floor, target, () -> {
+            // Everyone without a block left under them is out, no need to wait for them to fall.
+            // The game may have ended while the blocks were being removed.
+            if (game.getState() == Game.GameState.PLAYING) {
+                plugin.getEliminationManager().eliminateOffFloor(game, floor, target, selected);
+            }
+            if (onComplete != null) onComplete.run();
+        });
+    }
+
+    /**
+     * Queues the writes needed to turn the floor into the target grid, skipping cells that already match
+     */
+    private void applyFloor(Game game, FloorIndex floor, byte[] target, Runnable onComplete) {
+        int[] changed = new int[target.length];
+        int count = FloorGrid.diff(getFloorGrid(floor), target, floor.getChunkOrder(), changed);
+        submitFloor(game, floor, target, changed, count, onComplete);
+    }
+
+    private void submitFloor(Game game, FloorIndex floor, byte[] target, int[] changed, int count, Runnable onComplete) {
+        // The grid tracks the state the floor will have once the job has run
+        System.arraycopy(target, 0, getFloorGrid(floor), 0, target.length);
+        floorJobs.submit(game.getArena().getName(), floor, blockPalette, target, changed, count, onComplete);
+    }
+
+    private byte[] getFloorGrid(FloorIndex floor) {
+        return floorGrids.computeIfAbsent(floor, f -> FloorGrid.unknown(f.size()));
     }
     
     private void checkEliminations(Game game) {
         // Players will now fall naturally with gravity when their blocks disappear
-        // The PlayerListener will handle elimination when they fall below the arena
+        // Players off the floor were eliminated when the blocks were removed
         updateIngameScoreboards(game);
     }
     
-    private void endGame(Game game) {
+    /**
+     * Announces the end of a game, returns true if the winner is celebrated before everyone is sent back
+     */
+    private boolean endGame(Game game) {
+        boolean played = game.getState() == Game.GameState.PLAYING;
         game.setState(Game.GameState.ENDING);
+        publishSignStatus(game);
+        game.setNextRoundPlan(null);
         
         // Stop music completely when game ends
         plugin.getSoundManager().stopGameMusic(game);
 
+        // Games stopped before they started have no winner and no floor to restore
+        if (!played) {
+            return false;
+        }
+
         UUID winnerId = game.getWinner();
         if (winnerId != null) {
             Player winner = Bukkit.getPlayer(winnerId);
             if (winner != null) {
-                broadcastToGame(game, plugin.getMessageManager().getMessage("game-won")
-                    .replace("{winner}", winner.getName()));
+                broadcastToGame(game, plugin.getMessageManager().getMessage("game-won", "winner", winner.getName()));
 
                 plugin.getSoundManager().playWinSound(winner);
 
                 // Restore full floor with random colors
-                generateFloor(game);
+                generateFloor(game, null);
 
                 // Launch firework
                 launchWinFirework(winner);
@@ -407,57 +493,63 @@ public class GameManager {
                 plugin.getRewardManager().giveWinnerRewards(winner);
 
                 // Show winner scoreboard to all players
-                for (UUID playerId : game.getPlayers()) {
-                    Player player = Bukkit.getPlayer(playerId);
-                    if (player != null) {
-                        scoreboardManager.setWinnerScoreboard(player, winner.getName());
-                    }
-                }
+                scoreboardManager.showWinnerScoreboards(game, winner.getName());
 
-                // Schedule return to hub after 5 seconds
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        returnPlayersToHub(game);
-                        activeGames.remove(game.getArena().getName());
-                    }
-                }.runTaskLater(plugin, 20 * 5);
+                // Return to hub after the celebration
+                return true;
             }
         } else {
             broadcastToGame(game, plugin.getMessageManager().getMessage("game-draw"));
-            returnPlayersToHub(game);
-            activeGames.remove(game.getArena().getName());
         }
+        return false;
+    }
+
+    private void finishGame(Game game) {
+        returnPlayersToHub(game);
+        scoreboardManager.removeGame(game);
+        activeGames.remove(game.getArena().getName(), game);
+        publishSignStatus(game);
     }
     
     private void giveSelectedBlock(Player player, Material block) {
         // Clear inventory before giving the block
         player.getInventory().clear();
 
+        ItemStack item = blockItems.computeIfAbsent(block, this::createBlockItem);
+        for (int i = 0; i < 10; i++) {
+            player.getInventory().setItem(i, item.clone());
+        }
+    }
+    
+    /**
+     * Returns whether the item is one of the selected block items handed out during a round
+     */
+    public boolean isBlockItem(ItemStack item) {
+        // Only materials that were handed out can carry the tag, and reading it copies the item meta
+        return item != null && blockItems.containsKey(item.getType())
+            && plugin.getItemTags().is(item, ItemTags.GAME_BLOCK);
+    }
+    
+    private ItemStack createBlockItem(Material block) {
         ItemStack item = new ItemStack(block);
         var meta = item.getItemMeta();
         meta.setDisplayName(ChatColor.YELLOW + formatBlockName(block));
-        meta.setLore(Arrays.asList("BlockParty Block"));
+        plugin.getItemTags().tag(meta, ItemTags.GAME_BLOCK);
         item.setItemMeta(meta);
-        for (int i = 0; i < 10; i++) {
-            player.getInventory().setItem(i, item.clone());
-        }
+        return item;
     }
     
     public void eliminatePlayerReturn(Player player) {
-        String arenaName = playerArenas.get(player.getUniqueId());
-        if (arenaName == null) return;
-
-        Game game = activeGames.get(arenaName);
+        PlayerSession session = sessions.remove(player.getUniqueId());
+        if (session == null) return;
+        session.setAlive(false);
 
-        // Get saved join location before restorePlayerData removes it
-        Location savedLocation = plugin.getInventoryManager().getSavedLocation(player);
+        Game game = session.getGame();
+        Location savedLocation = session.getJoinLocation();
 
         // Remove from game tracking
-        if (game != null) {
-            game.getPlayers().remove(player.getUniqueId());
-        }
-        playerArenas.remove(player.getUniqueId());
+        game.removePlayer(player);
+        publishSignStatus(game);
 
         // Remove scoreboard
         scoreboardManager.removeScoreboard(player);
@@ -478,7 +570,7 @@ public class GameManager {
         }
 
         // Restore inventory and player state
-        boolean restored = plugin.getInventoryManager().restorePlayerData(player);
+        boolean restored = plugin.getInventoryManager().restorePlayerData(player, session.getSavedState());
         if (!restored) {
             player.getInventory().clear();
             player.setHealth(20);
@@ -486,21 +578,20 @@ public class GameManager {
         }
 
         // Update scoreboards for remaining players
-        if (game != null && game.getState() == Game.GameState.PLAYING) {
+        if (game.getState() == Game.GameState.PLAYING) {
             updateIngameScoreboards(game);
         }
     }
 
-    private void restorePlayer(Player player) {
+    private void restorePlayer(Player player, PlayerSession session) {
+        Location savedLocation = session.getJoinLocation();
+
         // Re-enable collision first
         player.setCollidable(true);
 
         // Set gamemode to survival before teleporting
         player.setGameMode(GameMode.SURVIVAL);
 
-        // Get saved join location before restorePlayerData removes it
-        Location savedLocation = plugin.getInventoryManager().getSavedLocation(player);
-
         // When spectator-on-eliminate is false, return to where the player was before joining
         if (!plugin.getConfigManager().isSpectatorOnEliminate() && savedLocation != null) {
             player.teleport(savedLocation);
@@ -514,7 +605,7 @@ public class GameManager {
         }
 
         // Try to restore saved inventory and player data
-        boolean restored = plugin.getInventoryManager().restorePlayerData(player);
+        boolean restored = plugin.getInventoryManager().restorePlayerData(player, session.getSavedState());
 
         if (!restored) {
             // Fallback to default restoration if no saved data
@@ -525,30 +616,27 @@ public class GameManager {
     }
     
     private void updateWaitingScoreboards(Game game) {
-        for (UUID playerId : game.getPlayers()) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null) {
-                scoreboardManager.setWaitingScoreboard(player, game.getPlayers().size(), game.getArena().getMaxPlayers());
-            }
-        }
+        scoreboardManager.updateWaitingScoreboards(game);
     }
 
     private void updateIngameScoreboards(Game game) {
-        for (UUID playerId : game.getAlivePlayers()) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null) {
-                scoreboardManager.setIngameScoreboard(player, game.getRound(), game.getTimeLeft(), game.getAlivePlayers().size(), game.getArena().getMaxPlayers());
-            }
-        }
+        scoreboardManager.updateIngameScoreboards(game);
+    }
+
+    private void publishSignStatus(Game game) {
+        plugin.getSignManager().publishStatus(game.getArena().getName());
+        gamesVersion++;
+    }
+
+    /**
+     * Changes whenever a game starts, ends or changes state or player count
+     */
+    public int getGamesVersion() {
+        return gamesVersion;
     }
 
     public void broadcastToGame(Game game, String message) {
-        for (UUID playerId : game.getPlayers()) {
-            Player player = Bukkit.getPlayer(playerId);
-            if (player != null) {
-                player.sendMessage(message);
-            }
-        }
+        game.getAudience().sendMessage(message);
     }
     
     private String formatBlockName(Material material) {
@@ -556,55 +644,66 @@ public class GameManager {
     }
     
     public boolean isPlayerInGame(Player player) {
-        return playerArenas.containsKey(player.getUniqueId());
+        return sessions.containsKey(player.getUniqueId());
+    }
+    
+    /**
+     * Returns the session of a player in a game, or null if they are not in one
+     */
+    public PlayerSession getSession(Player player) {
+        return sessions.get(player.getUniqueId());
     }
     
     public Game getPlayerGame(Player player) {
-        String arenaName = playerArenas.get(player.getUniqueId());
-        return arenaName != null ? activeGames.get(arenaName) : null;
+        PlayerSession session = sessions.get(player.getUniqueId());
+        return session != null ? session.getGame() : null;
     }
     
     public void stopAllGames() {
         for (Game game : new ArrayList<>(activeGames.values())) {
-            endGame(game);
+            phases.end(game);
         }
+
+        // The scheduler stops with the plugin, so finish any floor writes right away
+        floorJobs.flush();
     }
     
     public Map<String, Game> getActiveGames() {
         return activeGames;
     }
 
-    private void resetFloorToOneColor(Game game) {
-        Set<Location> floorBlocks = game.getArena().getFloorBlocks();
-        Material color = game.getSelectedBlock(); // Use the last selected block as the color
+    public FloorPatternCache getFloorPatterns() {
+        return floorPatterns;
+    }
 
-        for (Location loc : floorBlocks) {
-            loc.getBlock().setType(color);
-        }
+    private void resetFloorToOneColor(Game game) {
+        FloorIndex floor = game.getArena().getFloor();
+        if (floor == null) return;
+        // Use the last selected block as the color, or the first color if no round was played
+        int color = Math.max(0, game.getSelectedBlockIndex());
+
+        byte[] target = new byte[floor.size()];
+        Arrays.fill(target, (byte) color);
+        applyFloor(game, floor, target, null);
     }
 
     private void launchWinFirework(Player winner) {
         Location loc = winner.getLocation();
-        new BukkitRunnable() {
-            int count = 0;
-            @Override
-            public void run() {
-                if (count >= 5) {
-                    cancel();
-                    return;
-                }
-                Firework firework = loc.getWorld().spawn(loc, Firework.class);
-                FireworkMeta meta = firework.getFireworkMeta();
-                meta.addEffect(FireworkEffect.builder()
-                    .withColor(Color.RED, Color.BLUE, Color.GREEN, Color.YELLOW, Color.PURPLE)
-                    .with(FireworkEffect.Type.BALL_LARGE)
-                    .withTrail()
-                    .build());
-                meta.setPower(1);
-                firework.setFireworkMeta(meta);
-                count++;
-            }
-        }.runTaskTimer(plugin, 0, 20); // Every second for 5 seconds
+        for (int i = 0; i < 5; i++) {
+            clock.later(i * 20, () -> spawnWinFirework(loc)); // Every second for 5 seconds
+        }
+    }
+
+    private void spawnWinFirework(Location loc) {
+        Firework firework = loc.getWorld().spawn(loc, Firework.class);
+        FireworkMeta meta = firework.getFireworkMeta();
+        meta.addEffect(FireworkEffect.builder()
+            .withColor(Color.RED, Color.BLUE, Color.GREEN, Color.YELLOW, Color.PURPLE)
+            .with(FireworkEffect.Type.BALL_LARGE)
+            .withTrail()
+            .build());
+        meta.setPower(1);
+        firework.setFireworkMeta(meta);
     }
 
     private void returnPlayersToHub(Game game) {
@@ -621,11 +720,12 @@ public class GameManager {
                 PlayerStats stats = plugin.getStatsManager().getPlayerStats(playerId);
                 plugin.getRewardManager().giveSurvivalRewards(player, game.getRound());
 
-                // Get saved join location BEFORE restorePlayerData removes it
-                Location savedLocation = plugin.getInventoryManager().getSavedLocation(player);
-
                 // Remove from tracking BEFORE restoring
-                playerArenas.remove(playerId);
+                PlayerSession session = sessions.remove(playerId);
+                if (session != null) {
+                    session.setAlive(false);
+                }
+                Location savedLocation = session != null ? session.getJoinLocation() : null;
 
                 // Remove scoreboard
                 scoreboardManager.removeScoreboard(player);
@@ -646,7 +746,9 @@ public class GameManager {
                 }
 
                 // Restore inventory and player state
-                boolean restored = plugin.getInventoryManager().restorePlayerData(player);
+                boolean restored = session != null
+                    ? plugin.getInventoryManager().restorePlayerData(player, session.getSavedState())
+                    : plugin.getInventoryManager().restorePlayerData(player);
                 if (!restored) {
                     player.getInventory().clear();
                     player.setHealth(20);
@@ -656,11 +758,17 @@ public class GameManager {
         }
 
         // Clear game players list
-        game.getPlayers().clear();
-        game.getAlivePlayers().clear();
+        game.clearPlayers();
     }
     
     public boolean forceStartGame(String arenaName) {
+        return forceStartGame(arenaName, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Force starts a game with the given seed, replaying the floors and block picks of an earlier game
+     */
+    public boolean forceStartGame(String arenaName, long seed) {
         Game game = activeGames.get(arenaName);
         if (game == null) {
             return false;
@@ -674,18 +782,105 @@ public class GameManager {
             return false; // Need at least 2 players
         }
         
-        // Cancel any existing countdown
-        game.setState(Game.GameState.STARTING);
-        game.setCountdown(0);
-        
-        // Start the game immediately
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                startGame(game);
-            }
-        }.runTaskLater(plugin, 1);
+        // Skip the countdown, starting moves the game out of its COUNTDOWN phase
+        game.setRandom(new GameRandom(seed));
+        phases.start(game);
         
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Phase lengths from the config
+     */
+    private class PhaseTimings implements GamePhases.Timings {
+        @Override
+        public int getCountdownSeconds() {
+            return plugin.getConfigManager().getCountdownTime();
+        }
+
+        @Override
+        public int getStartDelayTicks() {
+            return plugin.getConfigManager().getPhaseTicks("start-delay", 3);
+        }
+
+        @Override
+        public int getRoundTicks(int round) {
+            return plugin.getConfigManager().getRoundTicks(round);
+        }
+
+        @Override
+        public int getFallCheckTicks() {
+            return plugin.getConfigManager().getPhaseTicks("fall-check", 0.5);
+        }
+
+        @Override
+        public int getIntermissionTicks() {
+            return plugin.getConfigManager().getPhaseTicks("intermission", 2);
+        }
+
+        @Override
+        public int getCelebrationTicks() {
+            return 20 * 5;
+        }
+    }
+
+    /**
+     * Runs the phases of a game on the server
+     */
+    private class PhaseActions implements GamePhases.Actions {
+        @Override
+        public boolean canStart(Game game) {
+            return game.getPlayers().size() >= game.getArena().getMinPlayers();
+        }
+
+        @Override
+        public void cancelCountdown(Game game) {
+            GameManager.this.cancelCountdown(game);
+        }
+
+        @Override
+        public void announceCountdown(Game game, int seconds) {
+            GameManager.this.announceCountdown(game, seconds);
+        }
+
+        @Override
+        public void startGame(Game game) {
+            GameManager.this.startGame(game);
+        }
+
+        @Override
+        public void buildFloor(Game game, Runnable onBuilt) {
+            startNewRound(game, onBuilt);
+        }
+
+        @Override
+        public void beginRound(Game game, int roundTicks) {
+            GameManager.this.beginRound(game, roundTicks);
+        }
+
+        @Override
+        public void showTimeLeft(Game game, int seconds) {
+            GameManager.this.showTimeLeft(game, seconds);
+        }
+
+        @Override
+        public void removeBlocks(Game game, Runnable onRemoved) {
+            endRound(game, onRemoved);
+        }
+
+        @Override
+        public void checkEliminations(Game game) {
+            GameManager.this.checkEliminations(game);
+        }
+
+        @Override
+        public boolean endGame(Game game) {
+            return GameManager.this.endGame(game);
+        }
+
+        @Override
+        public void finishGame(Game game) {
+            GameManager.this.finishGame(game);
+        }
+    }
+}
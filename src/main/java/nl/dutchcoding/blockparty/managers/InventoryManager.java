@@ -18,7 +18,7 @@ public class InventoryManager {
     /**
      * Saves a player's current inventory, armor, gamemode, and other properties
      */
-    public void savePlayerData(Player player) {
+    public PlayerInventoryData savePlayerData(Player player) {
         PlayerInventoryData data = new PlayerInventoryData();
         
         // Save inventory contents
@@ -45,16 +45,24 @@ public class InventoryManager {
         data.location = player.getLocation();
 
         savedInventories.put(player.getUniqueId(), data);
+        return data;
     }
 
     /**
      * Restores a player's saved inventory and properties
      */
     public boolean restorePlayerData(Player player) {
-        PlayerInventoryData data = savedInventories.remove(player.getUniqueId());
+        return restorePlayerData(player, savedInventories.get(player.getUniqueId()));
+    }
+
+    /**
+     * Restores data saved earlier by {@link #savePlayerData(Player)}, false if there is none
+     */
+    public boolean restorePlayerData(Player player, PlayerInventoryData data) {
         if (data == null) {
             return false;
         }
+        savedInventories.remove(player.getUniqueId(), data);
 
         // Clear current effects
         for (PotionEffect effect : player.getActivePotionEffects()) {
@@ -125,7 +133,7 @@ public class InventoryManager {
     /**
      * Data class to store player inventory and properties
      */
-    private static class PlayerInventoryData {
+    public static class PlayerInventoryData {
         ItemStack[] inventoryContents;
         ItemStack[] armorContents;
         GameMode gameMode;
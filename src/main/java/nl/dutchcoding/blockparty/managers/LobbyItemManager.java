@@ -1,6 +1,7 @@
 package nl.dutchcoding.blockparty.managers;
 
 import nl.dutchcoding.blockparty.BlockParty;
+import nl.dutchcoding.blockparty.items.ItemTags;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -18,6 +19,7 @@ public class LobbyItemManager {
     private int slot;
     private String name;
     private List<String> lore;
+    private ItemStack template; // Cloned for every player
 
     public LobbyItemManager(BlockParty plugin) {
         this.plugin = plugin;
@@ -44,21 +46,21 @@ public class LobbyItemManager {
         for (String line : configLore) {
             this.lore.add(ChatColor.translateAlternateColorCodes('&', line));
         }
-    }
-
-    public void giveLobbyItem(Player player) {
-        if (!enabled) return;
 
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-        
+        this.template = new ItemStack(material);
+        ItemMeta meta = template.getItemMeta();
         if (meta != null) {
             meta.setDisplayName(name);
             meta.setLore(lore);
-            item.setItemMeta(meta);
+            plugin.getItemTags().tag(meta, ItemTags.LOBBY_ITEM);
+            template.setItemMeta(meta);
         }
+    }
 
-        player.getInventory().setItem(slot, item);
+    public void giveLobbyItem(Player player) {
+        if (!enabled) return;
+
+        player.getInventory().setItem(slot, template.clone());
     }
 
     public void removeLobbyItem(Player player) {
@@ -67,19 +69,9 @@ public class LobbyItemManager {
     }
 
     public boolean isLobbyItem(ItemStack item) {
-        if (!enabled || item == null || !item.hasItemMeta()) {
-            return false;
-        }
-
-        ItemMeta meta = item.getItemMeta();
-        if (meta == null || !meta.hasDisplayName()) {
-            return false;
-        }
-
-        return meta.getDisplayName().equals(name) && 
-               item.getType() == material &&
-               meta.hasLore() && 
-               meta.getLore().equals(lore);
+        // The material check is free, reading the tag copies the item meta
+        return enabled && item != null && item.getType() == material
+            && plugin.getItemTags().is(item, ItemTags.LOBBY_ITEM);
     }
 
     public boolean isEnabled() {
@@ -1,58 +1,93 @@
 package nl.dutchcoding.blockparty.managers;
 
 import nl.dutchcoding.blockparty.BlockParty;
+import nl.dutchcoding.blockparty.messages.MessageTemplate;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
 public class MessageManager {
-    
+
     private final BlockParty plugin;
-    private FileConfiguration messages;
-    
+    private volatile CompiledMessages compiled; // Replaced as a whole on reload
+
     public MessageManager(BlockParty plugin) {
         this.plugin = plugin;
         loadMessages();
     }
-    
-    private void loadMessages() {
+
+    public void loadMessages() {
         File messagesFile = new File(plugin.getDataFolder(), "messages.yml");
         if (!messagesFile.exists()) {
             plugin.saveResource("messages.yml", false);
         }
-        messages = YamlConfiguration.loadConfiguration(messagesFile);
+        compiled = new CompiledMessages(YamlConfiguration.loadConfiguration(messagesFile));
     }
-    
-    public String getMessage(String key) {
-        return messages.getString("messages." + key, "§cMessage not found: " + key)
-                .replace("&", "§");
+
+    public String getMessage(String key, Object... placeholders) {
+        MessageTemplate template = compiled.messages.get(key);
+        return template != null ? template.render(placeholders) : "§cMessage not found: " + key;
     }
-    
-    public String getTitle(String key) {
-        return messages.getString("titles." + key + ".title", "")
-                .replace("&", "§");
+
+    public String getTitle(String key, Object... placeholders) {
+        MessageTemplate template = compiled.titles.get(key);
+        return template != null ? template.render(placeholders) : "";
     }
-    
-    public String getSubtitle(String key) {
-        return messages.getString("titles." + key + ".subtitle", "")
-                .replace("&", "§");
+
+    public String getSubtitle(String key, Object... placeholders) {
+        MessageTemplate template = compiled.subtitles.get(key);
+        return template != null ? template.render(placeholders) : "";
     }
-    
+
     public int getTitleFadeIn(String key) {
-        return messages.getInt("titles." + key + ".fade-in", 10);
+        return compiled.config.getInt("titles." + key + ".fade-in", 10);
     }
-    
+
     public int getTitleStay(String key) {
-        return messages.getInt("titles." + key + ".stay", 70);
+        return compiled.config.getInt("titles." + key + ".stay", 70);
     }
-    
+
     public int getTitleFadeOut(String key) {
-        return messages.getInt("titles." + key + ".fade-out", 20);
+        return compiled.config.getInt("titles." + key + ".fade-out", 20);
+    }
+
+    public String getActionbar(String key, Object... placeholders) {
+        MessageTemplate template = compiled.actionbars.get(key);
+        return template != null ? template.render(placeholders) : "§cActionbar not found: " + key;
     }
 
-    public String getActionbar(String key) {
-        return messages.getString("actionbar." + key, "§cActionbar not found: " + key)
-                .replace("&", "§");
+    /**
+     * All messages of one messages.yml, parsed into templates up front
+     */
+    private static final class CompiledMessages {
+        private final FileConfiguration config;
+        private final Map<String, MessageTemplate> messages = new HashMap<>();
+        private final Map<String, MessageTemplate> titles = new HashMap<>();
+        private final Map<String, MessageTemplate> subtitles = new HashMap<>();
+        private final Map<String, MessageTemplate> actionbars = new HashMap<>();
+
+        private CompiledMessages(FileConfiguration config) {
+            this.config = config;
+            compileSection(config.getConfigurationSection("messages"), "", messages);
+            compileSection(config.getConfigurationSection("titles"), ".title", titles);
+            compileSection(config.getConfigurationSection("titles"), ".subtitle", subtitles);
+            compileSection(config.getConfigurationSection("actionbar"), "", actionbars);
+        }
+
+        private static void compileSection(ConfigurationSection section, String suffix, Map<String, MessageTemplate> target) {
+            if (section == null) {
+                return;
+            }
+            for (String key : section.getKeys(false)) {
+                String raw = section.getString(key + suffix);
+                if (raw != null) {
+                    target.put(key, MessageTemplate.compile(raw));
+                }
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,84 +1,144 @@
 package nl.dutchcoding.blockparty.managers;
 
 import nl.dutchcoding.blockparty.BlockParty;
+import nl.dutchcoding.blockparty.models.Game;
+import nl.dutchcoding.blockparty.scoreboard.Sidebar;
+import nl.dutchcoding.blockparty.scoreboard.SidebarTemplate;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.*;
 
-import java.util.List;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Every game shares one sidebar between all its players. Only templates that use
+ * player-specific placeholders (like %player%) get a sidebar per player.
+ */
 public class ScoreboardManager {
 
+    private static final String PLAYER_KEY = "%player%";
+
     private final BlockParty plugin;
+    private final Map<Game, Sidebar> gameSidebars; // Game -> sidebar shared by its players
+    private final Map<UUID, Sidebar> playerSidebars; // Player -> own sidebar, for player-specific templates
+    private final Map<UUID, Sidebar> viewing; // Player -> sidebar currently shown
+    private SidebarTemplate waitingTemplate;
+    private SidebarTemplate ingameTemplate;
+    private SidebarTemplate winnerTemplate;
 
     public ScoreboardManager(BlockParty plugin) {
         this.plugin = plugin;
+        this.gameSidebars = new HashMap<>();
+        this.playerSidebars = new HashMap<>();
+        this.viewing = new HashMap<>();
+        loadTemplates();
+    }
+
+    /**
+     * Compiles the scoreboard layouts from the config, called on load and reload
+     */
+    public void loadTemplates() {
+        waitingTemplate = loadTemplate("waiting", "%players%");
+        ingameTemplate = loadTemplate("ingame", "%round%", "%time%", "%players%");
+        winnerTemplate = loadTemplate("winner", "%winner%");
     }
 
-    public void setWaitingScoreboard(Player player, int currentPlayers, int maxPlayers) {
-        Map<String, String> placeholders = Map.of(
-            "%players%", currentPlayers + "/" + maxPlayers
-        );
-        setScoreboard(player, "waiting", placeholders);
+    private SidebarTemplate loadTemplate(String type, String... keys) {
+        FileConfiguration config = plugin.getConfigManager().getConfig();
+
+        // The player name is always the last value
+        String[] allKeys = new String[keys.length + 1];
+        System.arraycopy(keys, 0, allKeys, 0, keys.length);
+        allKeys[keys.length] = PLAYER_KEY;
+
+        return SidebarTemplate.compile(config.getString("scoreboard." + type + ".title", "[BlockParty]"),
+            config.getStringList("scoreboard." + type + ".lines"), allKeys);
     }
 
-    public void setIngameScoreboard(Player player, int round, int time, int currentPlayers, int maxPlayers) {
-        Map<String, String> placeholders = Map.of(
-            "%round%", String.valueOf(round),
-            "%time%", String.valueOf(time),
-            "%players%", currentPlayers + "/" + maxPlayers
-        );
-        setScoreboard(player, "ingame", placeholders);
+    public void updateWaitingScoreboards(Game game) {
+        update(game, game.getPlayers(), waitingTemplate,
+            game.getPlayers().size() + "/" + game.getArena().getMaxPlayers(), null);
     }
 
-    public void setWinnerScoreboard(Player player, String winnerName) {
-        Map<String, String> placeholders = Map.of(
-            "%winner%", winnerName
-        );
-        setScoreboard(player, "winner", placeholders);
+    public void updateIngameScoreboards(Game game) {
+        update(game, game.getAlivePlayers(), ingameTemplate, String.valueOf(game.getRound()), String.valueOf(game.getTimeLeft()),
+            game.getAlivePlayers().size() + "/" + game.getArena().getMaxPlayers(), null);
+    }
+
+    public void showWinnerScoreboards(Game game, String winnerName) {
+        update(game, game.getPlayers(), winnerTemplate, winnerName, null);
     }
 
     public void removeScoreboard(Player player) {
+        UUID playerId = player.getUniqueId();
+        playerSidebars.remove(playerId);
+        Sidebar sidebar = viewing.remove(playerId);
+        if (sidebar != null) {
+            Team team = sidebar.getScoreboard().getTeam("bp_nocollide");
+            if (team != null) {
+                team.removeEntry(player.getName());
+            }
+        }
         player.setScoreboard(Bukkit.getScoreboardManager().getNewScoreboard());
     }
 
-    private void setScoreboard(Player player, String type, Map<String, String> placeholders) {
-        FileConfiguration config = plugin.getConfig();
-        String title = ChatColor.translateAlternateColorCodes('&', config.getString("scoreboard." + type + ".title", "[BlockParty]"));
-        List<String> lines = config.getStringList("scoreboard." + type + ".lines");
+    /**
+     * Drops the shared sidebar of a game that has finished
+     */
+    public void removeGame(Game game) {
+        gameSidebars.remove(game);
+    }
 
-        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
-        Objective objective = scoreboard.registerNewObjective("blockparty", "dummy", title);
-        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+    private void update(Game game, Collection<UUID> viewers, SidebarTemplate template, String... values) {
+        if (template.uses(values.length - 1)) {
+            // Every player sees their own name, so each one needs their own sidebar
+            for (UUID playerId : viewers) {
+                Player player = Bukkit.getPlayer(playerId);
+                if (player != null) {
+                    values[values.length - 1] = player.getName();
+                    Sidebar sidebar = playerSidebars.computeIfAbsent(playerId, id -> createSidebar());
+                    sidebar.update(template, values);
+                    show(player, sidebar);
+                }
+            }
+            return;
+        }
 
-        int score = lines.size();
-        for (String line : lines) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                line = line.replace(entry.getKey(), entry.getValue());
+        Sidebar sidebar = gameSidebars.computeIfAbsent(game, g -> createSidebar());
+        sidebar.update(template, values);
+        for (UUID playerId : viewers) {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) {
+                show(player, sidebar);
             }
-            line = ChatColor.translateAlternateColorCodes('&', line);
-            objective.getScore(line).setScore(score--);
         }
+    }
+
+    private Sidebar createSidebar() {
+        Sidebar sidebar = new Sidebar(Bukkit.getScoreboardManager().getNewScoreboard());
 
-        player.setScoreboard(scoreboard);
         // Ensure no player collision while in a BlockParty game
-        if (plugin.getGameManager().isPlayerInGame(player)) {
-            applyNoCollision(player, scoreboard);
-        }
+        Team team = sidebar.getScoreboard().registerNewTeam("bp_nocollide");
+        team.setOption(Team.Option.COLLISION_RULE, Team.OptionStatus.NEVER);
+        return sidebar;
     }
 
-    private void applyNoCollision(Player player, Scoreboard scoreboard) {
-        Team team = scoreboard.getTeam("bp_nocollide");
-        if (team == null) {
-            team = scoreboard.registerNewTeam("bp_nocollide");
+    private void show(Player player, Sidebar sidebar) {
+        if (player.getScoreboard() == sidebar.getScoreboard()) {
+            return;
         }
-        team.setOption(Team.Option.COLLISION_RULE, Team.OptionStatus.NEVER);
-        String entry = player.getName();
-        if (!team.hasEntry(entry)) {
-            team.addEntry(entry);
+
+        player.setScoreboard(sidebar.getScoreboard());
+        Sidebar previous = viewing.put(player.getUniqueId(), sidebar);
+        if (previous != null) {
+            previous.getScoreboard().getTeam("bp_nocollide").removeEntry(player.getName());
+        }
+        if (plugin.getGameManager().isPlayerInGame(player)) {
+            sidebar.getScoreboard().getTeam("bp_nocollide").addEntry(player.getName());
         }
     }
-}
\ No newline at end of file
+}
@@ -3,30 +3,42 @@ package nl.dutchcoding.blockparty.managers;
 import nl.dutchcoding.blockparty.BlockParty;
 import nl.dutchcoding.blockparty.models.Arena;
 import nl.dutchcoding.blockparty.models.Game;
+import nl.dutchcoding.blockparty.models.JoinSign;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 public class SignManager {
     
     private final BlockParty plugin;
-    private final Map<Location, String> joinSigns;
+    private final Map<UUID, Map<Long, JoinSign>> signsByPosition; // World -> packed block position -> sign
+    private final Map<UUID, Map<Long, List<JoinSign>>> signsByChunk; // World -> packed chunk position -> signs
+    private final Map<String, List<JoinSign>> signsByArena;
+    private final Map<String, String[]> arenaStatus; // Arena name -> last published sign lines
     private File signsFile;
     private FileConfiguration signsConfig;
     
     public SignManager(BlockParty plugin) {
         this.plugin = plugin;
-        this.joinSigns = new HashMap<>();
+        this.signsByPosition = new HashMap<>();
+        this.signsByChunk = new HashMap<>();
+        this.signsByArena = new HashMap<>();
+        this.arenaStatus = new HashMap<>();
         loadSigns();
-        startSignUpdater();
     }
     
     public void loadSigns() {
@@ -42,27 +54,31 @@ public class SignManager {
         
         signsConfig = YamlConfiguration.loadConfiguration(signsFile);
         
+        int loaded = 0;
         if (signsConfig.contains("signs")) {
             for (String key : signsConfig.getConfigurationSection("signs").getKeys(false)) {
                 Location location = signsConfig.getLocation("signs." + key + ".location");
                 String arena = signsConfig.getString("signs." + key + ".arena");
-                if (location != null && arena != null) {
-                    joinSigns.put(location, arena);
+                if (location != null && location.getWorld() != null && arena != null) {
+                    addSign(new JoinSign(location, arena));
+                    loaded++;
                 }
             }
         }
         
-        plugin.getLogger().info("Loaded " + joinSigns.size() + " join signs.");
+        plugin.getLogger().info("Loaded " + loaded + " join signs.");
     }
     
     public void saveSigns() {
         signsConfig.set("signs", null); // Clear existing data
         
         int i = 0;
-        for (Map.Entry<Location, String> entry : joinSigns.entrySet()) {
-            signsConfig.set("signs." + i + ".location", entry.getKey());
-            signsConfig.set("signs." + i + ".arena", entry.getValue());
-            i++;
+        for (Map<Long, JoinSign> worldSigns : signsByPosition.values()) {
+            for (JoinSign sign : worldSigns.values()) {
+                signsConfig.set("signs." + i + ".location", sign.getLocation());
+                signsConfig.set("signs." + i + ".arena", sign.getArenaName());
+                i++;
+            }
         }
         
         try {
@@ -73,53 +89,152 @@ public class SignManager {
     }
     
     public void createSign(Location location, String arenaName) {
-        joinSigns.put(location, arenaName);
-        updateSign(location);
+        removeIndexed(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        addSign(new JoinSign(location, arenaName));
+        arenaStatus.remove(arenaName);
+        publishStatus(arenaName);
         saveSigns();
     }
     
     public void removeSign(Location location) {
-        joinSigns.remove(location);
-        saveSigns();
+        if (removeIndexed(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ()) != null) {
+            saveSigns();
+        }
     }
     
     public String getArenaFromSign(Location location) {
-        return joinSigns.get(location);
+        JoinSign sign = getJoinSign(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        return sign != null ? sign.getArenaName() : null;
     }
     
     public boolean isJoinSign(Location location) {
-        return joinSigns.containsKey(location);
+        return getJoinSign(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ()) != null;
+    }
+
+    /**
+     * Looks up the join sign at a block by its position alone, without reading the block state
+     */
+    public JoinSign getJoinSign(Block block) {
+        return getJoinSign(block.getWorld(), block.getX(), block.getY(), block.getZ());
+    }
+
+    private JoinSign getJoinSign(World world, int x, int y, int z) {
+        if (world == null) {
+            return null;
+        }
+        Map<Long, JoinSign> worldSigns = signsByPosition.get(world.getUID());
+        return worldSigns != null ? worldSigns.get(JoinSign.packPosition(x, y, z)) : null;
+    }
+
+    private void addSign(JoinSign sign) {
+        UUID worldId = sign.getWorld().getUID();
+        signsByPosition.computeIfAbsent(worldId, id -> new HashMap<>()).put(sign.getPositionKey(), sign);
+        signsByChunk.computeIfAbsent(worldId, id -> new HashMap<>())
+            .computeIfAbsent(sign.getChunkKey(), key -> new ArrayList<>()).add(sign);
+        signsByArena.computeIfAbsent(sign.getArenaName(), name -> new ArrayList<>()).add(sign);
+    }
+
+    private JoinSign removeIndexed(World world, int x, int y, int z) {
+        JoinSign sign = getJoinSign(world, x, y, z);
+        if (sign == null) {
+            return null;
+        }
+
+        UUID worldId = world.getUID();
+        signsByPosition.get(worldId).remove(sign.getPositionKey());
+        Map<Long, List<JoinSign>> worldChunks = signsByChunk.get(worldId);
+        List<JoinSign> chunkSigns = worldChunks.get(sign.getChunkKey());
+        chunkSigns.remove(sign);
+        if (chunkSigns.isEmpty()) {
+            worldChunks.remove(sign.getChunkKey());
+        }
+        List<JoinSign> arenaSigns = signsByArena.get(sign.getArenaName());
+        arenaSigns.remove(sign);
+        if (arenaSigns.isEmpty()) {
+            signsByArena.remove(sign.getArenaName());
+        }
+        return sign;
     }
     
-    private void startSignUpdater() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                for (Location signLocation : joinSigns.keySet()) {
-                    updateSign(signLocation);
-                }
+    /**
+     * Recomputes the status of an arena and redraws its signs if the status changed.
+     * Called by the game manager whenever a game changes state or player count.
+     */
+    public void publishStatus(String arenaName) {
+        String[] lines = renderStatus(arenaName);
+        if (Arrays.equals(lines, arenaStatus.get(arenaName))) {
+            return;
+        }
+        arenaStatus.put(arenaName, lines);
+
+        List<JoinSign> signs = signsByArena.get(arenaName);
+        if (signs == null) {
+            return;
+        }
+        for (JoinSign sign : new ArrayList<>(signs)) {
+            // Signs in unloaded chunks are drawn when their chunk loads
+            if (sign.isChunkLoaded()) {
+                draw(sign, lines);
             }
-        }.runTaskTimer(plugin, 0, 20); // Update every second
+        }
     }
-    
-    private void updateSign(Location location) {
-        Block block = location.getBlock();
-        if (!(block.getState() instanceof Sign)) {
-            joinSigns.remove(location);
+
+    /**
+     * Republishes every arena, used after a reload
+     */
+    public void publishAll() {
+        arenaStatus.clear();
+        for (String arenaName : new ArrayList<>(signsByArena.keySet())) {
+            publishStatus(arenaName);
+        }
+    }
+
+    /**
+     * Draws the signs of a chunk that just loaded if their arena changed while it was unloaded
+     */
+    public void onChunkLoad(Chunk chunk) {
+        Map<Long, List<JoinSign>> worldChunks = signsByChunk.get(chunk.getWorld().getUID());
+        if (worldChunks == null) {
             return;
         }
-        
-        Sign sign = (Sign) block.getState();
-        String arenaName = joinSigns.get(location);
+        List<JoinSign> signs = worldChunks.get(JoinSign.packChunk(chunk.getX(), chunk.getZ()));
+        if (signs == null) {
+            return;
+        }
+        for (JoinSign sign : new ArrayList<>(signs)) {
+            draw(sign, getStatus(sign.getArenaName()));
+        }
+    }
+
+    private String[] getStatus(String arenaName) {
+        return arenaStatus.computeIfAbsent(arenaName, this::renderStatus);
+    }
+
+    private void draw(JoinSign joinSign, String[] lines) {
+        if (Arrays.equals(lines, joinSign.getDrawnLines())) {
+            return;
+        }
+
+        BlockState state = joinSign.getLocation().getBlock().getState();
+        if (!(state instanceof Sign)) {
+            Location location = joinSign.getLocation();
+            removeIndexed(location.getWorld(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+            return;
+        }
+
+        Sign sign = (Sign) state;
+        for (int i = 0; i < lines.length; i++) {
+            sign.setLine(i, lines[i]);
+        }
+        sign.update();
+        joinSign.setDrawnLines(lines);
+    }
+
+    private String[] renderStatus(String arenaName) {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         
         if (arena == null) {
-            sign.setLine(0, "§c[BlockParty]");
-            sign.setLine(1, "§cArena not found");
-            sign.setLine(2, "§c" + arenaName);
-            sign.setLine(3, "");
-            sign.update();
-            return;
+            return new String[] {"§c[BlockParty]", "§cArena not found", "§c" + arenaName, ""};
         }
         
         Game game = plugin.getGameManager().getActiveGames().get(arenaName);
@@ -150,10 +265,6 @@ public class SignManager {
             playerCount = game.getPlayers().size() + "/" + arena.getMaxPlayers();
         }
         
-        sign.setLine(0, "§b[BlockParty]");
-        sign.setLine(1, status);
-        sign.setLine(2, playerCount);
-        sign.setLine(3, arena.getName());
-        sign.update();
+        return new String[] {"§b[BlockParty]", status, playerCount, arena.getName()};
     }
-}
\ No newline at end of file
+}
@@ -6,10 +6,9 @@ import org.bukkit.Bukkit;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -19,7 +18,7 @@ public class SoundManager {
     
     private final BlockParty plugin;
     private final boolean itemsAdderEnabled;
-    private final Map<String, BukkitTask> musicTasks; // Arena name -> music task
+    private final Map<String, MusicTrack> musicTracks; // Arena name -> playing track
     private final Map<String, Set<UUID>> activeMusicPlayers; // Arena name -> players hearing music
     private final Map<String, Double> totalMusicProgress; // Arena name -> total cumulative time played
     private final Map<String, Long> roundStartTime; // Arena name -> when current round started
@@ -27,10 +26,12 @@ public class SoundManager {
     public SoundManager(BlockParty plugin) {
         this.plugin = plugin;
         this.itemsAdderEnabled = plugin.getServer().getPluginManager().isPluginEnabled("ItemsAdder");
-        this.musicTasks = new HashMap<>();
+        this.musicTracks = new HashMap<>();
         this.activeMusicPlayers = new HashMap<>();
         this.totalMusicProgress = new HashMap<>();
         this.roundStartTime = new HashMap<>();
+
+        plugin.getGameClock().every(20, this::tickMusic); // Check every second
     }
     
     public void startGameMusic(Game game) {
@@ -77,11 +78,8 @@ public class SoundManager {
         
         game.setMusicPlaying(false);
         
-        // Cancel the music task
-        BukkitTask musicTask = musicTasks.remove(arenaName);
-        if (musicTask != null) {
-            musicTask.cancel();
-        }
+        // Stop tracking the music
+        musicTracks.remove(arenaName);
         
         // Stop sounds for all players in the game
         Set<UUID> musicPlayers = activeMusicPlayers.get(arenaName);
@@ -124,11 +122,7 @@ public class SoundManager {
         game.setMusicPlaying(false);
         
         // Stop the actual music during elimination phase
-        BukkitTask musicTask = musicTasks.get(arenaName);
-        if (musicTask != null) {
-            musicTask.cancel();
-            musicTasks.remove(arenaName);
-        }
+        musicTracks.remove(arenaName);
         
         // Stop music for all players in the game
         Set<UUID> musicPlayers = activeMusicPlayers.get(arenaName);
@@ -174,11 +168,8 @@ public class SoundManager {
     private void startContinuousMusic(Game game, String soundName) {
         String arenaName = game.getArena().getName();
         
-        // Cancel any existing music task first
-        BukkitTask existingTask = musicTasks.get(arenaName);
-        if (existingTask != null) {
-            existingTask.cancel();
-        }
+        // Replace any existing music track first
+        musicTracks.remove(arenaName);
         
         // Ensure we have the music players set for this arena
         Set<UUID> musicPlayers = activeMusicPlayers.get(arenaName);
@@ -202,56 +193,48 @@ public class SoundManager {
             }
         }
         
-        // Create a continuous music task that keeps music playing throughout the entire game
-        // This task will NOT restart the music - it only manages new players
-        BukkitTask musicTask = new BukkitRunnable() {
-            private final double trackDuration = plugin.getConfigManager().getConfig().getDouble("music.track-duration", 180.0);
-            private final long trackDurationTicks = Math.round(trackDuration * 20);
-            private long tickCounter = 0;
-            
-            @Override
-            public void run() {
-                if (!game.isMusicPlaying() || game.getAlivePlayers().isEmpty()) {
-                    cancel();
-                    musicTasks.remove(arenaName);
-                    return;
-                }
+        // The clock keeps music playing throughout the entire game
+        // Tracks are NOT restarted each round, the clock only manages new players
+        double trackDuration = plugin.getConfigManager().getConfig().getDouble("music.track-duration", 180.0);
+        musicTracks.put(arenaName, new MusicTrack(game, soundName, Math.round(trackDuration * 20)));
+    }
 
-                // Only restart music if the track duration is reached AND the game is still going
-                // This handles very long games that exceed the track duration
-                if (tickCounter > 0 && tickCounter % trackDurationTicks == 0) {
-                    plugin.getLogger().info("Music track completed, restarting for long game in arena " + arenaName);
-                    Set<UUID> currentMusicPlayers = activeMusicPlayers.get(arenaName);
-                    if (currentMusicPlayers != null) {
-                        for (UUID playerId : game.getAlivePlayers()) {
-                            Player player = Bukkit.getPlayer(playerId);
-                            if (player != null && player.isOnline()) {
-                                playMusicToPlayer(player, soundName, 0.8f, 1.0f);
-                            }
-                        }
-                    }
+    private void tickMusic() {
+        Iterator<Map.Entry<String, MusicTrack>> iterator = musicTracks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, MusicTrack> entry = iterator.next();
+            String arenaName = entry.getKey();
+            MusicTrack track = entry.getValue();
+            Game game = track.game;
+
+            if (!game.isMusicPlaying() || game.getAlivePlayers().isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+
+            track.ticksPlayed += 20;
+
+            // Only restart music if the track duration is reached AND the game is still going
+            // This handles very long games that exceed the track duration
+            if (track.ticksPlayed >= track.durationTicks) {
+                track.ticksPlayed = 0;
+                plugin.getLogger().info("Music track completed, restarting for long game in arena " + arenaName);
+                for (Player player : game.getAliveAudience().getPlayers()) {
+                    playMusicToPlayer(player, track.soundName, 0.8f, 1.0f);
                 }
+            }
 
-                // Add music for any new players who joined during gameplay
-                Set<UUID> currentMusicPlayers = activeMusicPlayers.get(arenaName);
-                if (currentMusicPlayers != null) {
-                    for (UUID playerId : game.getAlivePlayers()) {
-                        if (!currentMusicPlayers.contains(playerId)) {
-                            Player player = Bukkit.getPlayer(playerId);
-                            if (player != null && player.isOnline()) {
-                                playMusicToPlayer(player, soundName, 0.8f, 1.0f);
-                                currentMusicPlayers.add(playerId);
-                                plugin.getLogger().info("Added music for new player: " + player.getName());
-                            }
-                        }
+            // Add music for any new players who joined during gameplay
+            Set<UUID> currentMusicPlayers = activeMusicPlayers.get(arenaName);
+            if (currentMusicPlayers != null) {
+                for (Player player : game.getAliveAudience().getPlayers()) {
+                    if (currentMusicPlayers.add(player.getUniqueId())) {
+                        playMusicToPlayer(player, track.soundName, 0.8f, 1.0f);
+                        plugin.getLogger().info("Added music for new player: " + player.getName());
                     }
                 }
-                
-                tickCounter++;
             }
-        }.runTaskTimer(plugin, 20, 20); // Check every second
-        
-        musicTasks.put(arenaName, musicTask);
+        }
     }
     
     public void playDeathSound(Player player) {
@@ -359,13 +342,8 @@ public class SoundManager {
     }
 
     public void cleanup() {
-        // Cancel all music tasks when plugin disables
-        for (BukkitTask task : musicTasks.values()) {
-            if (task != null) {
-                task.cancel();
-            }
-        }
-        musicTasks.clear();
+        // Drop all music tracks when plugin disables
+        musicTracks.clear();
         
         // Stop music for all tracked players
         for (Set<UUID> players : activeMusicPlayers.values()) {
@@ -393,4 +371,17 @@ public class SoundManager {
         int seconds = (int) (progress % 60);
         return String.format("%d:%02d", minutes, seconds);
     }
-}
\ No newline at end of file
+
+    private static class MusicTrack {
+        private final Game game;
+        private final String soundName;
+        private final long durationTicks;
+        private long ticksPlayed;
+
+        private MusicTrack(Game game, String soundName, long durationTicks) {
+            this.game = game;
+            this.soundName = soundName;
+            this.durationTicks = Math.max(20, durationTicks);
+        }
+    }
+}
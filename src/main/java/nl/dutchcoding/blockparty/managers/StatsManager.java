@@ -2,79 +2,452 @@ package nl.dutchcoding.blockparty.managers;
 
 import nl.dutchcoding.blockparty.BlockParty;
 import nl.dutchcoding.blockparty.models.PlayerStats;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import nl.dutchcoding.blockparty.stats.Leaderboard;
+import nl.dutchcoding.blockparty.stats.LeaderboardType;
+import nl.dutchcoding.blockparty.stats.SqliteStatsStorage;
+import nl.dutchcoding.blockparty.stats.StatsStorage;
+import nl.dutchcoding.blockparty.stats.YamlStatsStorage;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
+/**
+ * Keeps player stats in memory and writes changed records behind. Online players stay cached, offline
+ * players are kept in a bounded LRU cache and loaded again on a miss. All storage access happens on a
+ * single writer thread; flushes snapshot the dirty records on the main thread and hand them over.
+ * The cache itself is only touched on the main thread. Other threads, such as async placeholder
+ * requests, read the copies that are published on every change.
+ */
 public class StatsManager {
     
     private final BlockParty plugin;
-    private final Map<UUID, PlayerStats> playerStats;
-    private File statsFile;
-    private FileConfiguration statsConfig;
+    private final LinkedHashMap<UUID, PlayerStats> playerStats; // In access order, least recently used first
+    private final Set<UUID> loading; // Players whose stored stats are still being read
+    private final Map<UUID, PlayerStats> pendingMigrated; // Migrated stats of players that were loading
+    private final Map<UUID, PlayerStats> published; // Read-only copies of the cached records for other threads
+    private final ExecutorService writer;
+    private final StatsStorage storage;
+    private final Leaderboard leaderboard;
+    private volatile boolean leaderboardReady;
+    private volatile int storageEpoch; // Bumped by the writer thread whenever a migration is committed
+    private int migratedEpoch;
+    private long hits;
+    private long misses;
+    private long evictions;
     
     public StatsManager(BlockParty plugin) {
         this.plugin = plugin;
-        this.playerStats = new HashMap<>();
-        loadStats();
+        this.playerStats = new LinkedHashMap<>(16, 0.75f, true);
+        this.loading = new HashSet<>();
+        this.pendingMigrated = new HashMap<>();
+        this.published = new ConcurrentHashMap<>();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BlockParty-Stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.storage = openStorage(plugin.getConfigManager().getStatsStorage());
+        this.leaderboard = new Leaderboard(plugin.getConfigManager().getLeaderboardMinGames());
+
+        int interval = plugin.getConfigManager().getStatsSaveInterval() * 20;
+        plugin.getGameClock().every(interval, () -> {
+            flush();
+            refreshLeaderboard();
+        });
+
+        // Players that are already online after a reload
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            loadPlayer(player.getUniqueId());
+        }
+        refreshLeaderboard();
     }
-    
-    public void loadStats() {
-        statsFile = new File(plugin.getDataFolder(), "stats.yml");
-        if (!statsFile.exists()) {
+
+    /**
+     * Reads the top of every leaderboard on the writer thread. Queued behind the flushes, so the
+     * storage already has the changes made so far.
+     */
+    private void refreshLeaderboard() {
+        int minGames = leaderboard.getMinGamesForWinRate();
+        writer.execute(() -> {
+            Map<LeaderboardType, List<Leaderboard.Entry>> stored = new EnumMap<>(LeaderboardType.class);
             try {
-                statsFile.createNewFile();
+                for (LeaderboardType type : LeaderboardType.values()) {
+                    stored.put(type, storage.loadTop(type, minGames, Leaderboard.SIZE));
+                }
             } catch (IOException e) {
-                plugin.getLogger().severe("Could not create stats.yml!");
+                plugin.getLogger().severe("Could not load the leaderboard: " + e.getMessage());
                 return;
             }
+
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> {
+                    // Cached records may be newer than what was stored
+                    List<PlayerStats> cached = new ArrayList<>();
+                    for (PlayerStats stats : playerStats.values()) {
+                        if (!loading.contains(stats.getPlayerId())) {
+                            cached.add(stats);
+                        }
+                    }
+                    leaderboard.refresh(stored, cached);
+                    leaderboardReady = true;
+                });
+            }
+        });
+    }
+
+    /**
+     * Returns the position of a player, starting at 1, 0 if they are not ranked or
+     * {@link Leaderboard#UNKNOWN} while it is looked up. Positions below the top are read from the
+     * storage on first use and kept until the next refresh. Safe to call from any thread.
+     */
+    public int getRank(LeaderboardType type, UUID playerId) {
+        if (!leaderboardReady) {
+            return Leaderboard.UNKNOWN;
         }
-        
-        statsConfig = YamlConfiguration.loadConfiguration(statsFile);
-        
-        if (statsConfig.contains("stats")) {
-            for (String uuidString : statsConfig.getConfigurationSection("stats").getKeys(false)) {
+
+        int rank = leaderboard.getRank(type, playerId);
+        if (rank == Leaderboard.UNKNOWN && leaderboard.startLookup(type, playerId)) {
+            int minGames = leaderboard.getMinGamesForWinRate();
+            writer.execute(() -> {
                 try {
-                    UUID playerId = UUID.fromString(uuidString);
-                    Map<String, Object> data = statsConfig.getConfigurationSection("stats." + uuidString).getValues(false);
-                    data.put("playerId", uuidString);
-                    PlayerStats stats = new PlayerStats(data);
-                    playerStats.put(playerId, stats);
-                } catch (IllegalArgumentException e) {
-                    plugin.getLogger().warning("Invalid UUID in stats: " + uuidString);
+                    leaderboard.setRank(type, playerId, storage.loadRank(type, minGames, playerId));
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Could not load the rank of " + playerId + ": " + e.getMessage());
+                    leaderboard.setRank(type, playerId, 0);
                 }
+            });
+        }
+        return rank;
+    }
+
+    private void onStatsChanged(PlayerStats stats) {
+        published.put(stats.getPlayerId(), stats.snapshot());
+
+        // Records that are still loading only hold part of the stats
+        if (leaderboardReady && !loading.contains(stats.getPlayerId())) {
+            leaderboard.update(stats);
+        }
+    }
+
+    private StatsStorage openStorage(String type) {
+        if (type.equalsIgnoreCase("sqlite")) {
+            StatsStorage sqlite = new SqliteStatsStorage(new File(plugin.getDataFolder(), "stats.db"));
+            try {
+                sqlite.open();
+                plugin.getLogger().info("Using SQLite stats storage.");
+                return sqlite;
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not open stats.db, falling back to stats.yml: " + e.getMessage());
             }
+        } else if (!type.equalsIgnoreCase("yaml")) {
+            plugin.getLogger().warning("Unknown stats storage '" + type + "', using yaml.");
         }
-        
-        plugin.getLogger().info("Loaded stats for " + playerStats.size() + " players.");
+
+        StatsStorage yaml = new YamlStatsStorage(new File(plugin.getDataFolder(), "stats.yml"));
+        try {
+            yaml.open();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Could not create stats.yml!");
+        }
+        return yaml;
     }
-    
-    public void saveStats() {
-        statsConfig.set("stats", null); // Clear existing data
-        
+
+    /**
+     * Starts reading the stored stats of a player, called when they join
+     */
+    public void loadPlayer(UUID playerId) {
+        if (playerStats.containsKey(playerId)) {
+            return;
+        }
+
+        // Changes made before the stored stats arrive are kept and added on top of them
+        PlayerStats created = new PlayerStats(playerId);
+        created.setChangeListener(this::onStatsChanged);
+        playerStats.put(playerId, created);
+        published.put(playerId, created.snapshot());
+        loading.add(playerId);
+        writer.execute(() -> {
+            PlayerStats stored = null;
+            int epoch = storageEpoch;
+            try {
+                stored = storage.load(playerId);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Could not load stats of " + playerId + ": " + e.getMessage());
+            }
+
+            PlayerStats result = stored;
+            if (plugin.isEnabled()) {
+                Bukkit.getScheduler().runTask(plugin, () -> finishLoad(playerId, result, epoch));
+            }
+        });
+    }
+
+    private void finishLoad(UUID playerId, PlayerStats stored, int epoch) {
+        if (!loading.remove(playerId)) {
+            return;
+        }
+
+        PlayerStats extra = pendingMigrated.remove(playerId);
+        PlayerStats stats = playerStats.get(playerId);
+        if (stats != null) {
+            if (stored != null) {
+                stats.absorb(stored);
+            }
+            // Read before the migration was committed, so the migrated stats are not in there yet
+            if (extra != null && epoch < migratedEpoch) {
+                stats.absorb(extra);
+                stats.markDirty();
+            }
+            onStatsChanged(stats);
+        }
+        trimCache();
+    }
+
+    /**
+     * Saves the stats of a player that left. The record stays cached until it is the least recently used.
+     */
+    public void releasePlayer(UUID playerId) {
+        PlayerStats stats = playerStats.get(playerId);
+        if (stats != null && stats.isDirty() && !loading.contains(playerId)) {
+            List<PlayerStats> snapshot = List.of(stats.snapshot());
+            stats.markClean();
+            writer.execute(() -> save(snapshot));
+        }
+        trimCache();
+    }
+
+    /**
+     * Evicts least recently used offline players until at most the configured number is cached
+     */
+    private void trimCache() {
+        int limit = Bukkit.getOnlinePlayers().size() + plugin.getConfigManager().getStatsCacheSize();
+        Iterator<PlayerStats> iterator = playerStats.values().iterator();
+        while (playerStats.size() > limit && iterator.hasNext()) {
+            PlayerStats stats = iterator.next();
+            UUID playerId = stats.getPlayerId();
+            if (loading.contains(playerId) || Bukkit.getPlayer(playerId) != null) {
+                continue; // Online players are pinned
+            }
+
+            iterator.remove();
+            published.remove(playerId);
+            evictions++;
+            if (stats.isDirty()) {
+                List<PlayerStats> snapshot = List.of(stats.snapshot());
+                writer.execute(() -> save(snapshot));
+            }
+        }
+    }
+
+    /**
+     * Queues a write of every record that changed since the last flush
+     */
+    public void flush() {
+        List<PlayerStats> snapshots = new ArrayList<>();
         for (PlayerStats stats : playerStats.values()) {
-            Map<String, Object> data = stats.serialize();
-            String uuidString = data.remove("playerId").toString();
-            statsConfig.set("stats." + uuidString, data);
+            if (stats.isDirty() && !loading.contains(stats.getPlayerId())) {
+                snapshots.add(stats.snapshot());
+                stats.markClean();
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            writer.execute(() -> save(snapshots));
+        }
+    }
+
+    /**
+     * Flushes the remaining changes and waits a bounded time for the writer to finish, called on disable
+     */
+    public void shutdown() {
+        flush();
+
+        // Records that never finished loading still need their stored stats added before saving
+        for (UUID playerId : loading) {
+            PlayerStats stats = playerStats.get(playerId);
+            if (stats != null && stats.isDirty()) {
+                PlayerStats snapshot = stats.snapshot();
+                writer.execute(() -> {
+                    try {
+                        PlayerStats stored = storage.load(playerId);
+                        if (stored != null) {
+                            snapshot.absorb(stored);
+                        }
+                        storage.save(List.of(snapshot));
+                    } catch (IOException e) {
+                        plugin.getLogger().severe("Could not save stats of " + playerId + ": " + e.getMessage());
+                    }
+                });
+            }
         }
-        
+
+        writer.execute(storage::close);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(plugin.getConfigManager().getStatsShutdownTimeout(), TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out while saving stats, recent stats may be lost!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void save(Collection<PlayerStats> snapshots) {
         try {
-            statsConfig.save(statsFile);
+            storage.save(snapshots);
         } catch (IOException e) {
-            plugin.getLogger().severe("Could not save stats.yml!");
+            plugin.getLogger().severe("Could not save stats: " + e.getMessage());
         }
     }
+
+    /**
+     * Copies stats.yml into the current storage, adding to any stats already stored. The file is
+     * renamed afterwards so it cannot be migrated twice. The callback runs on the main thread with
+     * the number of migrated players, or -1 if the migration failed.
+     */
+    public boolean migrateFromYaml(Consumer<Integer> callback) {
+        if (storage instanceof YamlStatsStorage) {
+            return false;
+        }
+
+        File file = new File(plugin.getDataFolder(), "stats.yml");
+        writer.execute(() -> {
+            Map<UUID, PlayerStats> migrated;
+            try {
+                if (!file.isFile()) {
+                    throw new FileNotFoundException(file.getName() + " does not exist");
+                }
+                YamlStatsStorage yaml = new YamlStatsStorage(file);
+                yaml.open();
+                migrated = yaml.loadAll();
+                yaml.close();
+
+                List<PlayerStats> merged = new ArrayList<>();
+                for (PlayerStats stats : migrated.values()) {
+                    PlayerStats combined = stats.snapshot();
+                    PlayerStats stored = storage.load(stats.getPlayerId());
+                    if (stored != null) {
+                        combined.absorb(stored);
+                    }
+                    merged.add(combined);
+                }
+                storage.save(merged);
+
+                storageEpoch++;
+
+                if (!file.renameTo(new File(plugin.getDataFolder(), "stats.yml.migrated"))) {
+                    plugin.getLogger().warning("Could not rename stats.yml after migrating it.");
+                }
+            } catch (IOException e) {
+                plugin.getLogger().severe("Could not migrate stats.yml: " + e.getMessage());
+                migrated = null;
+            }
+
+            Map<UUID, PlayerStats> result = migrated;
+            int epoch = storageEpoch;
+            Bukkit.getScheduler().runTask(plugin, () -> finishMigration(result, epoch, callback));
+        });
+        return true;
+    }
+
+    private void finishMigration(Map<UUID, PlayerStats> migrated, int epoch, Consumer<Integer> callback) {
+        if (migrated == null) {
+            callback.accept(-1);
+            return;
+        }
+
+        // Loaded records were read before the migration, so they are missing the migrated stats.
+        // Records that are still loading get them in finishLoad if their read came too early.
+        migratedEpoch = epoch;
+        for (PlayerStats stats : playerStats.values()) {
+            PlayerStats extra = migrated.get(stats.getPlayerId());
+            if (extra == null) {
+                continue;
+            }
+            if (loading.contains(stats.getPlayerId())) {
+                pendingMigrated.put(stats.getPlayerId(), extra);
+            } else {
+                stats.absorb(extra);
+                stats.markDirty();
+                onStatsChanged(stats);
+            }
+        }
+        refreshLeaderboard();
+        callback.accept(migrated.size());
+    }
     
+    /**
+     * Returns whether there is a stats.yml left to migrate
+     */
+    public boolean hasYamlStats() {
+        return new File(plugin.getDataFolder(), "stats.yml").isFile();
+    }
+
+    /**
+     * Returns the cached stats of a player, only call this from the main thread. On a miss the stored
+     * stats are loaded in the background and added to the returned record once they arrive; until then
+     * the record starts at zero and only holds changes made since.
+     */
     public PlayerStats getPlayerStats(UUID playerId) {
-        return playerStats.computeIfAbsent(playerId, PlayerStats::new);
+        PlayerStats stats = playerStats.get(playerId);
+        if (stats != null) {
+            hits++;
+            return stats;
+        }
+
+        misses++;
+        loadPlayer(playerId);
+        stats = playerStats.get(playerId);
+        trimCache();
+        return stats;
     }
-    
-    public Map<UUID, PlayerStats> getAllStats() {
-        return playerStats;
+
+    /**
+     * Returns a copy of the cached stats of a player that is safe to read from any thread, or null if
+     * the player is not cached. The copy is replaced, not updated, when the stats change.
+     */
+    public PlayerStats getPublishedStats(UUID playerId) {
+        return published.get(playerId);
+    }
+
+    /**
+     * Returns the rankings, or null while the stored stats are still being read
+     */
+    public Leaderboard getLeaderboard() {
+        return leaderboardReady ? leaderboard : null;
+    }
+
+    public int getCacheSize() {
+        return playerStats.size();
+    }
+
+    public long getCacheHits() {
+        return hits;
+    }
+
+    public long getCacheMisses() {
+        return misses;
+    }
+
+    public long getCacheEvictions() {
+        return evictions;
     }
-}
\ No newline at end of file
+}
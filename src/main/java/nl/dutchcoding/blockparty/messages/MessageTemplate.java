@@ -0,0 +1,89 @@
+package nl.dutchcoding.blockparty.messages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message parsed once into literal text and {name} placeholder slots.
+ * Color codes are translated at compile time, so rendering only joins the pieces.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals; // One more literal than there are placeholders
+    private final String[] names;
+
+    private MessageTemplate(String[] literals, String[] names) {
+        this.literals = literals;
+        this.names = names;
+    }
+
+    public static MessageTemplate compile(String raw) {
+        String text = raw.replace("&", "§");
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            int end = c == '{' ? placeholderEnd(text, position) : -1;
+            if (end < 0) {
+                literal.append(c);
+                position++;
+                continue;
+            }
+
+            literals.add(literal.toString());
+            literal.setLength(0);
+            names.add(text.substring(position + 1, end));
+            position = end + 1;
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(literals.toArray(new String[0]), names.toArray(new String[0]));
+    }
+
+    private static int placeholderEnd(String text, int start) {
+        for (int i = start + 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '}') {
+                return i > start + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Renders the message with placeholders given as name/value pairs, e.g. {@code render("player", name)}.
+     * Placeholders without a value are left as they are.
+     */
+    public String render(Object... placeholders) {
+        if (names.length == 0) {
+            return literals[0];
+        }
+
+        StringBuilder builder = new StringBuilder(literals[0]);
+        for (int i = 0; i < names.length; i++) {
+            Object value = find(names[i], placeholders);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('{').append(names[i]).append('}');
+            }
+            builder.append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    private static Object find(String name, Object[] placeholders) {
+        for (int i = 0; i + 1 < placeholders.length; i += 2) {
+            if (name.equals(placeholders[i])) {
+                return placeholders[i + 1];
+            }
+        }
+        return null;
+    }
+}
@@ -1,14 +1,12 @@
 package nl.dutchcoding.blockparty.models;
 
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public class Arena implements ConfigurationSerializable {
     
@@ -19,6 +17,9 @@ public class Arena implements ConfigurationSerializable {
     private Location waitLobby;
     private int minPlayers;
     private int maxPlayers;
+    private FloorIndex floor;
+    private int killPlaneDepth = 3;
+    private double killPlane;
     
     public Arena(String name) {
         this.name = name;
@@ -93,26 +94,31 @@ public class Arena implements ConfigurationSerializable {
         }
     }
     
-    public Set<Location> getFloorBlocks() {
+    public FloorIndex getFloor() {
         if (pos1 == null || pos2 == null) {
-            return Set.of();
+            return null;
         }
-        
-        Set<Location> blocks = new java.util.HashSet<>();
-        
-        int minX = Math.min(pos1.getBlockX(), pos2.getBlockX());
-        int maxX = Math.max(pos1.getBlockX(), pos2.getBlockX());
-        int minZ = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
-        int maxZ = Math.max(pos1.getBlockZ(), pos2.getBlockZ());
-        int y = Math.min(pos1.getBlockY(), pos2.getBlockY());
-        
-        for (int x = minX; x <= maxX; x++) {
-            for (int z = minZ; z <= maxZ; z++) {
-                blocks.add(new Location(pos1.getWorld(), x, y, z));
-            }
+
+        // Built once per pos1/pos2 pair and reused by every floor operation
+        if (floor == null) {
+            floor = new FloorIndex(pos1, pos2);
+            killPlane = floor.getY() - killPlaneDepth;
+        }
+        return floor;
+    }
+
+    /**
+     * Height below which a falling player is eliminated, only valid while {@link #getFloor()} is not null
+     */
+    public double getKillPlane() {
+        return killPlane;
+    }
+
+    public void setKillPlaneDepth(int killPlaneDepth) {
+        this.killPlaneDepth = killPlaneDepth;
+        if (floor != null) {
+            killPlane = floor.getY() - killPlaneDepth;
         }
-        
-        return blocks;
     }
     
     // Getters and setters
@@ -126,6 +132,7 @@ public class Arena implements ConfigurationSerializable {
     
     public void setPos1(Location pos1) {
         this.pos1 = pos1;
+        this.floor = null;
     }
     
     public Location getPos2() {
@@ -134,6 +141,7 @@ public class Arena implements ConfigurationSerializable {
     
     public void setPos2(Location pos2) {
         this.pos2 = pos2;
+        this.floor = null;
     }
     
     public Location getSpawnLocation() {
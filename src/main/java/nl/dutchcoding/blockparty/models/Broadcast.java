@@ -0,0 +1,61 @@
+package nl.dutchcoding.blockparty.models;
+
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.entity.Player;
+
+import java.util.function.Consumer;
+
+/**
+ * A chat message, title, actionbar and/or sound rendered once and sent to every player of an audience in one pass
+ */
+public class Broadcast {
+
+    private String chat;
+    private String title;
+    private String subtitle;
+    private int fadeIn;
+    private int stay;
+    private int fadeOut;
+    private TextComponent actionbar;
+    private Consumer<Player> sound;
+
+    public Broadcast chat(String message) {
+        this.chat = message;
+        return this;
+    }
+
+    public Broadcast title(String title, String subtitle, int fadeIn, int stay, int fadeOut) {
+        this.title = title;
+        this.subtitle = subtitle;
+        this.fadeIn = fadeIn;
+        this.stay = stay;
+        this.fadeOut = fadeOut;
+        return this;
+    }
+
+    public Broadcast actionbar(String message) {
+        this.actionbar = new TextComponent(message);
+        return this;
+    }
+
+    public Broadcast sound(Consumer<Player> sound) {
+        this.sound = sound;
+        return this;
+    }
+
+    void sendTo(Player player) {
+        if (chat != null) {
+            player.sendMessage(chat);
+        }
+        if (title != null) {
+            player.sendTitle(title, subtitle, fadeIn, stay, fadeOut);
+        }
+        if (actionbar != null) {
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, actionbar);
+        }
+        if (sound != null) {
+            sound.accept(player);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package nl.dutchcoding.blockparty.models;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+
+/**
+ * Immutable index of the floor cells of an arena.
+ * Cells are stored as packed x/z coordinates so floor operations can iterate
+ * them without creating a Location per block.
+ */
+public final class FloorIndex {
+
+    private final World world;
+    private final int y;
+    private final int minX;
+    private final int minZ;
+    private final int width;
+    private final int length;
+    private final long[] cells;
+    private final int[] chunkOrder;
+
+    public FloorIndex(Location pos1, Location pos2) {
+        this.world = pos1.getWorld();
+        this.y = Math.min(pos1.getBlockY(), pos2.getBlockY());
+        this.minX = Math.min(pos1.getBlockX(), pos2.getBlockX());
+        this.minZ = Math.min(pos1.getBlockZ(), pos2.getBlockZ());
+        this.width = Math.max(pos1.getBlockX(), pos2.getBlockX()) - minX + 1;
+        this.length = Math.max(pos1.getBlockZ(), pos2.getBlockZ()) - minZ + 1;
+
+        // Row-major order: cell index = (x - minX) * length + (z - minZ)
+        this.cells = new long[width * length];
+        int i = 0;
+        for (int dx = 0; dx < width; dx++) {
+            for (int dz = 0; dz < length; dz++) {
+                cells[i++] = pack(minX + dx, minZ + dz);
+            }
+        }
+
+        // Same cells grouped chunk by chunk, so bulk writers touch each chunk once
+        this.chunkOrder = new int[cells.length];
+        int maxX = minX + width - 1;
+        int maxZ = minZ + length - 1;
+        int n = 0;
+        for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+            for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+                int fromX = Math.max(minX, chunkX << 4);
+                int toX = Math.min(maxX, (chunkX << 4) + 15);
+                int fromZ = Math.max(minZ, chunkZ << 4);
+                int toZ = Math.min(maxZ, (chunkZ << 4) + 15);
+                for (int x = fromX; x <= toX; x++) {
+                    for (int z = fromZ; z <= toZ; z++) {
+                        chunkOrder[n++] = (x - minX) * length + (z - minZ);
+                    }
+                }
+            }
+        }
+    }
+
+    public static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) packed;
+    }
+
+    public int size() {
+        return cells.length;
+    }
+
+    public int getX(int cell) {
+        return unpackX(cells[cell]);
+    }
+
+    public int getZ(int cell) {
+        return unpackZ(cells[cell]);
+    }
+
+    public Block getBlock(int cell) {
+        long packed = cells[cell];
+        return world.getBlockAt(unpackX(packed), y, unpackZ(packed));
+    }
+
+    /**
+     * Returns every cell index ordered by chunk. The array is shared and must not be modified.
+     */
+    public int[] getChunkOrder() {
+        return chunkOrder;
+    }
+
+    /**
+     * Returns the cell index for the given block coordinates, or -1 if they are outside the floor
+     */
+    public int indexOf(int x, int z) {
+        int dx = x - minX;
+        int dz = z - minZ;
+        if (dx < 0 || dz < 0 || dx >= width || dz >= length) {
+            return -1;
+        }
+        return dx * length + dz;
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getMinX() {
+        return minX;
+    }
+
+    public int getMinZ() {
+        return minZ;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getLength() {
+        return length;
+    }
+}
@@ -1,32 +1,54 @@
 package nl.dutchcoding.blockparty.models;
 
+import nl.dutchcoding.blockparty.floor.RoundPlan;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class Game {
+
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
     
     private final Arena arena;
-    private final List<UUID> players;
-    private final List<UUID> alivePlayers;
+    private final Set<UUID> players; // In join order, the first alive player wins
+    private final Set<UUID> alivePlayers;
+    private final Set<UUID> playersView;
+    private final Set<UUID> alivePlayersView;
+    private final GameAudience audience; // Everyone in the game, spectators included
+    private final GameAudience aliveAudience;
 
     private GameState state;
+    private Phase phase;
+    private long phaseDeadline; // Clock tick at which the current phase acts next
     private int countdown;
     private int round;
-    private int timeLeft;
+    private int timeLeft; // Whole seconds shown to players
+    private long roundEndTick;
     private Material selectedBlock;
+    private int selectedBlockIndex = -1; // Palette index of the selected block, -1 before the first round
     private int musicProgress; // Track music progress in seconds
     private boolean musicPlaying;
+    private CompletableFuture<RoundPlan> nextRoundPlan; // Next round prepared in the background
+    private GameRandom random; // Seeded when the game starts
+    private int version; // Bumped whenever a value shown to players changes
     
     public Game(Arena arena) {
         this.arena = arena;
-        this.players = new ArrayList<>();
-        this.alivePlayers = new ArrayList<>();
+        this.players = new LinkedHashSet<>();
+        this.alivePlayers = new LinkedHashSet<>();
+        this.playersView = Collections.unmodifiableSet(players);
+        this.alivePlayersView = Collections.unmodifiableSet(alivePlayers);
+        this.audience = new GameAudience(players);
+        this.aliveAudience = new GameAudience(alivePlayers);
 
         this.state = GameState.WAITING;
+        this.phase = Phase.WAITING;
+        this.phaseDeadline = NO_DEADLINE;
         this.countdown = 30;
         this.round = 0;
         this.timeLeft = 0;
@@ -44,11 +66,25 @@ public class Game {
         }
         players.add(player.getUniqueId());
         alivePlayers.add(player.getUniqueId());
+        invalidateAudiences();
     }
     
     public void removePlayer(Player player) {
         players.remove(player.getUniqueId());
         alivePlayers.remove(player.getUniqueId());
+        invalidateAudiences();
+    }
+
+    public void clearPlayers() {
+        players.clear();
+        alivePlayers.clear();
+        invalidateAudiences();
+    }
+
+    private void invalidateAudiences() {
+        audience.invalidate();
+        aliveAudience.invalidate();
+        version++;
     }
     
     public boolean isPlayerInGame(Player player) {
@@ -61,6 +97,8 @@ public class Game {
     
     public void eliminatePlayer(UUID playerId) {
         alivePlayers.remove(playerId);
+        aliveAudience.invalidate();
+        version++;
     }
     
     public boolean canStart() {
@@ -72,11 +110,19 @@ public class Game {
     }
     
     public UUID getWinner() {
-        return alivePlayers.isEmpty() ? null : alivePlayers.get(0);
+        return alivePlayers.isEmpty() ? null : alivePlayers.iterator().next();
     }
     
     public void nextRound() {
         this.round++;
+        version++;
+    }
+    
+    /**
+     * Changes whenever the state, round, timer, selected block or players change, so derived values can be cached
+     */
+    public int getVersion() {
+        return version;
     }
     
     // Getters and setters
@@ -84,12 +130,26 @@ public class Game {
         return arena;
     }
     
-    public List<UUID> getPlayers() {
-        return players;
+    /**
+     * Returns a read-only view of everyone in the game, use addPlayer and removePlayer to change it
+     */
+    public Set<UUID> getPlayers() {
+        return playersView;
     }
     
-    public List<UUID> getAlivePlayers() {
-        return alivePlayers;
+    /**
+     * Returns a read-only view of the players still in the running, use eliminatePlayer to change it
+     */
+    public Set<UUID> getAlivePlayers() {
+        return alivePlayersView;
+    }
+
+    public GameAudience getAudience() {
+        return audience;
+    }
+
+    public GameAudience getAliveAudience() {
+        return aliveAudience;
     }
     
     public GameState getState() {
@@ -98,14 +158,40 @@ public class Game {
     
     public void setState(GameState state) {
         this.state = state;
+        version++;
     }
     
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Moves the game to a phase that acts once the clock reaches the given tick
+     */
+    public void setPhase(Phase phase, long deadline) {
+        this.phase = phase;
+        this.phaseDeadline = deadline;
+    }
+
+    public long getPhaseDeadline() {
+        return phaseDeadline;
+    }
+
+    public void setPhaseDeadline(long phaseDeadline) {
+        this.phaseDeadline = phaseDeadline;
+    }
+
+    public boolean isPhaseDue(long tick) {
+        return tick >= phaseDeadline;
+    }
+
     public int getCountdown() {
         return countdown;
     }
     
     public void setCountdown(int countdown) {
         this.countdown = countdown;
+        version++;
     }
     
     public int getRound() {
@@ -114,6 +200,7 @@ public class Game {
     
     public void setRound(int round) {
         this.round = round;
+        version++;
     }
     
     public int getTimeLeft() {
@@ -122,14 +209,29 @@ public class Game {
     
     public void setTimeLeft(int timeLeft) {
         this.timeLeft = timeLeft;
+        version++;
+    }
+    
+    public long getRoundEndTick() {
+        return roundEndTick;
+    }
+
+    public void setRoundEndTick(long roundEndTick) {
+        this.roundEndTick = roundEndTick;
     }
     
     public Material getSelectedBlock() {
         return selectedBlock;
     }
     
-    public void setSelectedBlock(Material selectedBlock) {
+    public void setSelectedBlock(Material selectedBlock, int paletteIndex) {
         this.selectedBlock = selectedBlock;
+        this.selectedBlockIndex = paletteIndex;
+        version++;
+    }
+
+    public int getSelectedBlockIndex() {
+        return selectedBlockIndex;
     }
     
     public int getMusicProgress() {
@@ -151,6 +253,22 @@ public class Game {
     public void setMusicPlaying(boolean musicPlaying) {
         this.musicPlaying = musicPlaying;
     }
+
+    public CompletableFuture<RoundPlan> getNextRoundPlan() {
+        return nextRoundPlan;
+    }
+
+    public void setNextRoundPlan(CompletableFuture<RoundPlan> nextRoundPlan) {
+        this.nextRoundPlan = nextRoundPlan;
+    }
+
+    public GameRandom getRandom() {
+        return random;
+    }
+
+    public void setRandom(GameRandom random) {
+        this.random = random;
+    }
     
 
     
@@ -159,4 +277,12 @@ public class Game {
     public enum GameState {
         WAITING, STARTING, PLAYING, ENDING
     }
+
+    /**
+     * Sub-state driven by the game clock. FLOOR_BUILD and REMOVE wait for their floor job instead of a deadline.
+     * A round runs FLOOR_BUILD -> DANCE -> REMOVE -> FALL_CHECK -> INTERMISSION.
+     */
+    public enum Phase {
+        WAITING, COUNTDOWN, INTERMISSION, FLOOR_BUILD, DANCE, REMOVE, FALL_CHECK, CELEBRATION
+    }
 }
\ No newline at end of file
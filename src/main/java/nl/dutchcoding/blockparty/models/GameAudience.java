@@ -0,0 +1,57 @@
+package nl.dutchcoding.blockparty.models;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The online players behind a list of player ids. Players are looked up once and cached
+ * until the game changes the list, instead of calling Bukkit.getPlayer for every message.
+ */
+public class GameAudience {
+
+    private final Collection<UUID> playerIds;
+    private List<Player> players; // Null when the ids changed since the last lookup
+
+    public GameAudience(Collection<UUID> playerIds) {
+        this.playerIds = playerIds;
+    }
+
+    /**
+     * Returns the online players. The list is shared and must not be modified.
+     */
+    public List<Player> getPlayers() {
+        if (players == null) {
+            List<Player> resolved = new ArrayList<>(playerIds.size());
+            for (UUID playerId : playerIds) {
+                Player player = Bukkit.getPlayer(playerId);
+                if (player != null) {
+                    resolved.add(player);
+                }
+            }
+            players = Collections.unmodifiableList(resolved);
+        }
+        return players;
+    }
+
+    public void invalidate() {
+        players = null;
+    }
+
+    public void sendMessage(String message) {
+        for (Player player : getPlayers()) {
+            player.sendMessage(message);
+        }
+    }
+
+    public void send(Broadcast broadcast) {
+        for (Player player : getPlayers()) {
+            broadcast.sendTo(player);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package nl.dutchcoding.blockparty.models;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded random source of a single game. Every round gets its own stream derived from the seed,
+ * so a round plays out the same whether its floor was planned in the background or on the spot,
+ * and a game can be replayed by starting it with the same seed.
+ */
+public final class GameRandom {
+
+    // Golden ratio increment, spreads consecutive rounds over unrelated streams
+    private static final long ROUND_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+
+    public GameRandom(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns a fresh generator for the given round. Generators are not thread-safe,
+     * so each task should ask for its own instance.
+     */
+    public SplittableRandom forRound(int round) {
+        return new SplittableRandom(seed + round * ROUND_GAMMA);
+    }
+}
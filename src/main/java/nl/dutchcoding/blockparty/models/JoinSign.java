@@ -0,0 +1,68 @@
+package nl.dutchcoding.blockparty.models;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * A join sign, identified by its world and packed block position
+ */
+public class JoinSign {
+
+    private final World world;
+    private final int x;
+    private final int y;
+    private final int z;
+    private final String arenaName;
+    private String[] drawnLines; // Lines the sign currently shows, null if unknown
+
+    public JoinSign(Location location, String arenaName) {
+        this.world = location.getWorld();
+        this.x = location.getBlockX();
+        this.y = location.getBlockY();
+        this.z = location.getBlockZ();
+        this.arenaName = arenaName;
+    }
+
+    /**
+     * Packs block coordinates into one long: 26 bits x, 26 bits z, 12 bits y
+     */
+    public static long packPosition(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static long packChunk(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public long getPositionKey() {
+        return packPosition(x, y, z);
+    }
+
+    public long getChunkKey() {
+        return packChunk(x >> 4, z >> 4);
+    }
+
+    public boolean isChunkLoaded() {
+        return world.isChunkLoaded(x >> 4, z >> 4);
+    }
+
+    public Location getLocation() {
+        return new Location(world, x, y, z);
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public String getArenaName() {
+        return arenaName;
+    }
+
+    public String[] getDrawnLines() {
+        return drawnLines;
+    }
+
+    public void setDrawnLines(String[] drawnLines) {
+        this.drawnLines = drawnLines;
+    }
+}
@@ -0,0 +1,53 @@
+package nl.dutchcoding.blockparty.models;
+
+import nl.dutchcoding.blockparty.managers.InventoryManager;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+/**
+ * Everything the plugin tracks about a player for as long as they are in a game. Created when the
+ * player joins and released when they leave, quit, are sent back after being eliminated or the game ends.
+ */
+public class PlayerSession {
+
+    private final Player player;
+    private final Game game;
+    private final Location joinLocation; // Where the player came from, null if unknown
+    private final InventoryManager.PlayerInventoryData savedState; // Restored when the player leaves
+    private volatile boolean alive; // Read by placeholder requests from other threads
+
+    public PlayerSession(Player player, Game game, Location joinLocation, InventoryManager.PlayerInventoryData savedState) {
+        this.player = player;
+        this.game = game;
+        this.joinLocation = joinLocation;
+        this.savedState = savedState;
+        this.alive = true;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Whether the player is still in the game, false once they are eliminated or the session is released
+     */
+    public boolean isAlive() {
+        return alive;
+    }
+
+    public void setAlive(boolean alive) {
+        this.alive = alive;
+    }
+
+    public Location getJoinLocation() {
+        return joinLocation;
+    }
+
+    public InventoryManager.PlayerInventoryData getSavedState() {
+        return savedState;
+    }
+}
@@ -5,6 +5,7 @@ import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public class PlayerStats implements ConfigurationSerializable {
     
@@ -13,6 +14,9 @@ public class PlayerStats implements ConfigurationSerializable {
     private int losses;
     private int gamesPlayed;
     private int roundsSurvived;
+    private boolean dirty; // Changed since the last save
+    private int version; // Bumped on every change, so derived values can be cached
+    private Consumer<PlayerStats> changeListener;
     
     public PlayerStats(UUID playerId) {
         this.playerId = playerId;
@@ -44,15 +48,37 @@ public class PlayerStats implements ConfigurationSerializable {
     public void addWin() {
         this.wins++;
         this.gamesPlayed++;
+        changed();
     }
     
     public void addLoss() {
         this.losses++;
         this.gamesPlayed++;
+        changed();
     }
     
     public void addRoundsSurvived(int rounds) {
         this.roundsSurvived += rounds;
+        changed();
+    }
+    
+    /**
+     * Adds stored stats to this record, used when stats finish loading after the player already played.
+     * Does not mark the record dirty: if it has no changes of its own it now equals what is stored.
+     */
+    public void absorb(PlayerStats stored) {
+        this.wins += stored.wins;
+        this.losses += stored.losses;
+        this.gamesPlayed += stored.gamesPlayed;
+        this.roundsSurvived += stored.roundsSurvived;
+        this.version++;
+    }
+    
+    /**
+     * Returns an independent copy to hand to the storage thread
+     */
+    public PlayerStats snapshot() {
+        return new PlayerStats(serialize());
     }
     
     public double getWinRate() {
@@ -60,6 +86,34 @@ public class PlayerStats implements ConfigurationSerializable {
         return (double) wins / gamesPlayed * 100;
     }
     
+    private void changed() {
+        this.dirty = true;
+        this.version++;
+        if (changeListener != null) {
+            changeListener.accept(this);
+        }
+    }
+    
+    public void setChangeListener(Consumer<PlayerStats> changeListener) {
+        this.changeListener = changeListener;
+    }
+    
+    public int getVersion() {
+        return version;
+    }
+    
+    public boolean isDirty() {
+        return dirty;
+    }
+    
+    public void markDirty() {
+        this.dirty = true;
+    }
+    
+    public void markClean() {
+        this.dirty = false;
+    }
+    
     // Getters
     public UUID getPlayerId() {
         return playerId;
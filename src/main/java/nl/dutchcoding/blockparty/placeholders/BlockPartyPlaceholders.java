@@ -3,17 +3,60 @@ package nl.dutchcoding.blockparty.placeholders;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import nl.dutchcoding.blockparty.BlockParty;
 import nl.dutchcoding.blockparty.models.Game;
+import nl.dutchcoding.blockparty.models.PlayerSession;
 import nl.dutchcoding.blockparty.models.PlayerStats;
+import nl.dutchcoding.blockparty.stats.Leaderboard;
+import nl.dutchcoding.blockparty.stats.LeaderboardType;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-public class BlockPartyPlaceholders extends PlaceholderExpansion {
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Placeholders are requested many times per tick by tab and scoreboard plugins, so values are
+ * rendered into snapshots per player, per game and for the server, and only rendered again once
+ * the underlying stats or game report a new version. Requests may come from other threads, so
+ * the snapshots are kept in concurrent maps.
+ */
+public class BlockPartyPlaceholders extends PlaceholderExpansion implements Listener {
+    
+    // Game placeholders for players that are not in a game
+    private static final Map<String, String> NO_GAME = Map.of(
+        "in_game", "false",
+        "game_state", "none",
+        "game_players", "0",
+        "game_alive_players", "0",
+        "game_max_players", "0",
+        "game_round", "0",
+        "game_time_left", "0",
+        "game_countdown", "0",
+        "game_arena", "none",
+        "game_selected_block", "none");
+    
+    // Stats of players that are not loaded yet, shared so their snapshot stays valid. Never changed.
+    private static final PlayerStats NO_STATS = new PlayerStats(new UUID(0, 0));
     
     private final BlockParty plugin;
+    private final Map<UUID, PlaceholderSnapshot> statsSnapshots; // Dropped when the player quits
+    private final Map<String, PlaceholderSnapshot> gameSnapshots; // Arena name -> snapshot of its current game
+    private volatile PlaceholderSnapshot globalSnapshot;
     
     public BlockPartyPlaceholders(BlockParty plugin) {
         this.plugin = plugin;
+        this.statsSnapshots = new ConcurrentHashMap<>();
+        this.gameSnapshots = new ConcurrentHashMap<>();
+    }
+    
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        statsSnapshots.remove(event.getPlayer().getUniqueId());
     }
     
     @Override
@@ -38,108 +81,139 @@ public class BlockPartyPlaceholders extends PlaceholderExpansion {
     
     @Override
     public @Nullable String onPlaceholderRequest(Player player, @NotNull String params) {
+        // Leaderboard placeholders work without a player, e.g. on holograms
+        if (params.startsWith("top_")) {
+            return getTopPlaceholder(params);
+        }
+        
         if (player == null) {
             return "";
         }
         
-        // Player stats placeholders
-        if (params.equals("wins")) {
-            PlayerStats stats = plugin.getStatsManager().getPlayerStats(player.getUniqueId());
-            return String.valueOf(stats.getWins());
+        if (params.startsWith("rank_")) {
+            LeaderboardType type = LeaderboardType.fromKey(params.substring(5));
+            if (type == null) {
+                return null;
+            }
+            int rank = plugin.getStatsManager().getRank(type, player.getUniqueId());
+            return rank > 0 ? String.valueOf(rank) : "-";
         }
         
-        if (params.equals("games_played")) {
-            PlayerStats stats = plugin.getStatsManager().getPlayerStats(player.getUniqueId());
-            return String.valueOf(stats.getGamesPlayed());
+        String value = getStatsSnapshot(player).get(params);
+        if (value != null) {
+            return value;
         }
         
-        if (params.equals("rounds_survived")) {
-            PlayerStats stats = plugin.getStatsManager().getPlayerStats(player.getUniqueId());
-            return String.valueOf(stats.getRoundsSurvived());
+        PlayerSession session = plugin.getGameManager().getSession(player);
+        Game game = session != null ? session.getGame() : null;
+        if (params.equals("is_alive")) {
+            return session != null && session.isAlive() ? "true" : "false";
+        }
+        value = game != null ? getGameSnapshot(game).get(params) : NO_GAME.get(params);
+        if (value != null) {
+            return value;
         }
         
-        if (params.equals("win_rate")) {
-            PlayerStats stats = plugin.getStatsManager().getPlayerStats(player.getUniqueId());
-            if (stats.getGamesPlayed() == 0) {
-                return "0.0";
-            }
-            double winRate = (double) stats.getWins() / stats.getGamesPlayed() * 100;
-            return String.format("%.1f", winRate);
+        return getGlobalSnapshot().get(params);
+    }
+    
+    private PlaceholderSnapshot getStatsSnapshot(Player player) {
+        // Requests may come from other threads, so only the published copy of the stats is read.
+        // A new copy is published on every change, so the snapshot is valid while its source is current.
+        PlayerStats stats = plugin.getStatsManager().getPublishedStats(player.getUniqueId());
+        if (stats == null) {
+            stats = NO_STATS; // Not loaded yet
+        }
+        PlaceholderSnapshot snapshot = statsSnapshots.get(player.getUniqueId());
+        if (snapshot != null && snapshot.isValid(stats, stats.getVersion())) {
+            return snapshot;
+        }
+        
+        Map<String, String> values = new HashMap<>();
+        values.put("wins", String.valueOf(stats.getWins()));
+        values.put("games_played", String.valueOf(stats.getGamesPlayed()));
+        values.put("rounds_survived", String.valueOf(stats.getRoundsSurvived()));
+        values.put("win_rate", String.format("%.1f", stats.getWinRate()));
+        
+        snapshot = new PlaceholderSnapshot(stats, stats.getVersion(), values);
+        statsSnapshots.put(player.getUniqueId(), snapshot);
+        return snapshot;
+    }
+    
+    private PlaceholderSnapshot getGameSnapshot(Game game) {
+        PlaceholderSnapshot snapshot = gameSnapshots.get(game.getArena().getName());
+        if (snapshot != null && snapshot.isValid(game, game.getVersion())) {
+            return snapshot;
         }
         
-        // Game state placeholders
-        if (params.equals("in_game")) {
-            return plugin.getGameManager().isPlayerInGame(player) ? "true" : "false";
+        Map<String, String> values = new HashMap<>();
+        values.put("in_game", "true");
+        values.put("game_state", game.getState().name().toLowerCase());
+        values.put("game_players", String.valueOf(game.getPlayers().size()));
+        values.put("game_alive_players", String.valueOf(game.getAlivePlayers().size()));
+        values.put("game_max_players", String.valueOf(game.getArena().getMaxPlayers()));
+        values.put("game_round", String.valueOf(game.getRound()));
+        values.put("game_time_left", String.valueOf(game.getTimeLeft()));
+        values.put("game_countdown", String.valueOf(game.getCountdown()));
+        values.put("game_arena", game.getArena().getName());
+        values.put("game_selected_block", game.getSelectedBlock() != null ?
+                   formatBlockName(game.getSelectedBlock().name()) : "none");
+        
+        snapshot = new PlaceholderSnapshot(game, game.getVersion(), values);
+        gameSnapshots.put(game.getArena().getName(), snapshot);
+        return snapshot;
+    }
+    
+    private PlaceholderSnapshot getGlobalSnapshot() {
+        int version = plugin.getGameManager().getGamesVersion();
+        PlaceholderSnapshot snapshot = globalSnapshot;
+        if (snapshot != null && snapshot.isValid(this, version)) {
+            return snapshot;
         }
         
-        Game game = plugin.getGameManager().getPlayerGame(player);
-        if (game != null) {
-            switch (params) {
-                case "game_state":
-                    return game.getState().name().toLowerCase();
-                    
-                case "game_players":
-                    return String.valueOf(game.getPlayers().size());
-                    
-                case "game_alive_players":
-                    return String.valueOf(game.getAlivePlayers().size());
-                    
-                case "game_max_players":
-                    return String.valueOf(game.getArena().getMaxPlayers());
-                    
-                case "game_round":
-                    return String.valueOf(game.getRound());
-                    
-                case "game_time_left":
-                    return String.valueOf(game.getTimeLeft());
-                    
-                case "game_countdown":
-                    return String.valueOf(game.getCountdown());
-                    
-                case "game_arena":
-                    return game.getArena().getName();
-                    
-                case "game_selected_block":
-                    return game.getSelectedBlock() != null ? 
-                           formatBlockName(game.getSelectedBlock().name()) : "none";
-                           
-                case "is_alive":
-                    return game.getAlivePlayers().contains(player.getUniqueId()) ? "true" : "false";
-            }
-        } else {
-            // Return defaults when not in game
-            switch (params) {
-                case "game_state":
-                    return "none";
-                case "game_players":
-                case "game_alive_players":
-                case "game_max_players":
-                case "game_round":
-                case "game_time_left":
-                case "game_countdown":
-                    return "0";
-                case "game_arena":
-                case "game_selected_block":
-                    return "none";
-                case "is_alive":
-                    return "false";
-            }
+        int playersInGames = 0;
+        for (Game game : plugin.getGameManager().getActiveGames().values()) {
+            playersInGames += game.getPlayers().size();
         }
         
-        // Global stats placeholders
-        if (params.equals("total_active_games")) {
-            return String.valueOf(plugin.getGameManager().getActiveGames().size());
+        Map<String, String> values = new HashMap<>();
+        values.put("total_active_games", String.valueOf(plugin.getGameManager().getActiveGames().size()));
+        values.put("total_players_in_games", String.valueOf(playersInGames));
+        
+        snapshot = new PlaceholderSnapshot(this, version, values);
+        globalSnapshot = snapshot;
+        return snapshot;
+    }
+    
+    /**
+     * Handles %blockparty_top_<type>_<position>_name% and %blockparty_top_<type>_<position>_value%
+     */
+    private String getTopPlaceholder(String params) {
+        String[] parts = params.split("_");
+        if (parts.length != 4) {
+            return null;
         }
         
-        if (params.equals("total_players_in_games")) {
-            return String.valueOf(plugin.getGameManager().getActiveGames().values().stream()
-                    .mapToInt(g -> g.getPlayers().size()).sum());
+        LeaderboardType type = LeaderboardType.fromKey(parts[1]);
+        int position;
+        try {
+            position = Integer.parseInt(parts[2]);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (type == null || position < 1 || !(parts[3].equals("name") || parts[3].equals("value"))) {
+            return null;
         }
         
-        return null;
+        Leaderboard leaderboard = plugin.getStatsManager().getLeaderboard();
+        Leaderboard.Entry entry = leaderboard != null ? leaderboard.getEntry(type, position) : null;
+        if (entry == null) {
+            return parts[3].equals("name") ? "-" : "0";
+        }
+        return parts[3].equals("name") ? leaderboard.getName(entry) : type.format(entry);
     }
     
     private String formatBlockName(String materialName) {
         return materialName.toLowerCase().replace("_", " ");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,28 @@
+package nl.dutchcoding.blockparty.placeholders;
+
+import java.util.Map;
+
+/**
+ * Placeholder values rendered once from a source object at a given version. The snapshot stays
+ * valid until the source reports a different version.
+ */
+final class PlaceholderSnapshot {
+
+    private final Object source;
+    private final int version;
+    private final Map<String, String> values;
+
+    PlaceholderSnapshot(Object source, int version, Map<String, String> values) {
+        this.source = source;
+        this.version = version;
+        this.values = values;
+    }
+
+    boolean isValid(Object source, int version) {
+        return this.source == source && this.version == version;
+    }
+
+    String get(String params) {
+        return values.get(params);
+    }
+}
@@ -0,0 +1,80 @@
+package nl.dutchcoding.blockparty.scoreboard;
+
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+/**
+ * A sidebar that stays on its scoreboard between updates. Every line is a team with a fixed,
+ * invisible entry, the text lives in the team prefix, so changing a line is a single prefix update
+ * and lines that render the same text are not sent again.
+ */
+public class Sidebar {
+
+    private static final int MAX_LINES = 15;
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    private final Team[] teams;
+    private final String[] rendered;
+    private SidebarTemplate template;
+    private String title;
+    private int lineCount;
+
+    public Sidebar(Scoreboard scoreboard) {
+        this.scoreboard = scoreboard;
+        this.objective = scoreboard.registerNewObjective("blockparty", "dummy", "");
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        this.teams = new Team[MAX_LINES];
+        this.rendered = new String[MAX_LINES];
+    }
+
+    /**
+     * Renders the template with the given placeholder values, only sending what changed
+     */
+    public void update(SidebarTemplate template, String[] values) {
+        if (template != this.template) {
+            setLineCount(Math.min(template.size(), MAX_LINES));
+            this.template = template;
+        }
+
+        if (!template.getTitle().equals(title)) {
+            title = template.getTitle();
+            objective.setDisplayName(title);
+        }
+
+        for (int i = 0; i < lineCount; i++) {
+            String text = template.render(i, values);
+            if (!text.equals(rendered[i])) {
+                rendered[i] = text;
+                teams[i].setPrefix(text);
+            }
+        }
+    }
+
+    private void setLineCount(int count) {
+        // Lines are scored from the top down, so every visible line gets a new score
+        for (int i = 0; i < count; i++) {
+            if (teams[i] == null) {
+                teams[i] = scoreboard.registerNewTeam("bp_line_" + i);
+                teams[i].addEntry(entry(i));
+            }
+            objective.getScore(entry(i)).setScore(count - i);
+        }
+        for (int i = count; i < lineCount; i++) {
+            scoreboard.resetScores(entry(i));
+            rendered[i] = null;
+        }
+        lineCount = count;
+    }
+
+    private static String entry(int line) {
+        // A color code followed by a reset renders as nothing, and is unique per line
+        return "§" + Integer.toHexString(line) + "§r";
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+}
@@ -0,0 +1,103 @@
+package nl.dutchcoding.blockparty.scoreboard;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scoreboard layout from the config, compiled once into literal text and placeholder slots.
+ * Placeholders are referenced by their position in the key list the template was compiled with,
+ * so rendering a line is a plain string concatenation.
+ */
+public final class SidebarTemplate {
+
+    private final String title;
+    private final Object[][] lines; // Each segment is either a literal String or an Integer value slot
+    private final boolean[] usedKeys;
+
+    private SidebarTemplate(String title, Object[][] lines, boolean[] usedKeys) {
+        this.title = title;
+        this.lines = lines;
+        this.usedKeys = usedKeys;
+    }
+
+    /**
+     * Compiles the title and lines, translating color codes once.
+     *
+     * @param keys placeholders the template may use, e.g. {@code %round%}. Values are passed in this order.
+     */
+    public static SidebarTemplate compile(String title, List<String> lines, String... keys) {
+        Object[][] compiled = new Object[lines.size()][];
+        boolean[] usedKeys = new boolean[keys.length];
+        for (int i = 0; i < lines.size(); i++) {
+            compiled[i] = compileLine(ChatColor.translateAlternateColorCodes('&', lines.get(i)), keys);
+            for (Object segment : compiled[i]) {
+                if (segment instanceof Integer) {
+                    usedKeys[(Integer) segment] = true;
+                }
+            }
+        }
+        return new SidebarTemplate(ChatColor.translateAlternateColorCodes('&', title), compiled, usedKeys);
+    }
+
+    private static Object[] compileLine(String line, String[] keys) {
+        List<Object> segments = new ArrayList<>();
+        int position = 0;
+        while (position < line.length()) {
+            // Find the first placeholder from the current position
+            int found = -1;
+            int foundKey = -1;
+            for (int k = 0; k < keys.length; k++) {
+                int index = line.indexOf(keys[k], position);
+                if (index >= 0 && (found < 0 || index < found)) {
+                    found = index;
+                    foundKey = k;
+                }
+            }
+
+            if (found < 0) {
+                segments.add(line.substring(position));
+                break;
+            }
+            if (found > position) {
+                segments.add(line.substring(position, found));
+            }
+            segments.add(foundKey);
+            position = found + keys[foundKey].length();
+        }
+        return segments.toArray();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns whether any line contains the placeholder at the given key position
+     */
+    public boolean uses(int key) {
+        return usedKeys[key];
+    }
+
+    public int size() {
+        return lines.length;
+    }
+
+    public String render(int line, String[] values) {
+        Object[] segments = lines[line];
+        if (segments.length == 1 && segments[0] instanceof String) {
+            return (String) segments[0];
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (Object segment : segments) {
+            if (segment instanceof Integer) {
+                builder.append(values[(Integer) segment]);
+            } else {
+                builder.append((String) segment);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,212 @@
+package nl.dutchcoding.blockparty.stats;
+
+import nl.dutchcoding.blockparty.models.PlayerStats;
+import org.bukkit.Bukkit;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The best players of every type, read from the storage and kept up to date as cached stats change.
+ * Only the top {@link #SIZE} players are held in memory; positions further down are looked up in the
+ * storage when they are first asked for and kept until the next refresh. The top lists and the
+ * positions in them are replaced together instead of changed, so they can be read from any thread.
+ */
+public class Leaderboard {
+
+    public static final int SIZE = 100;
+    public static final int UNKNOWN = -1; // Rank that is still being looked up
+
+    private final int minGamesForWinRate;
+    private volatile Map<LeaderboardType, Top> tops;
+    private final Map<LeaderboardType, Map<UUID, Integer>> ranks; // Positions below the top
+    private final Map<UUID, String> names; // Resolved names of ranked players
+
+    public Leaderboard(int minGamesForWinRate) {
+        this.minGamesForWinRate = minGamesForWinRate;
+        this.tops = new EnumMap<>(LeaderboardType.class);
+        this.ranks = new EnumMap<>(LeaderboardType.class);
+        this.names = new ConcurrentHashMap<>();
+        for (LeaderboardType type : LeaderboardType.values()) {
+            tops.put(type, Top.EMPTY);
+            ranks.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    public int getMinGamesForWinRate() {
+        return minGamesForWinRate;
+    }
+
+    /**
+     * Replaces the top lists with the ones read from the storage. Cached records may have changes
+     * that are not saved yet, so they replace their stored entries.
+     */
+    public void refresh(Map<LeaderboardType, List<Entry>> stored, Collection<PlayerStats> cached) {
+        Map<LeaderboardType, Top> refreshed = new EnumMap<>(LeaderboardType.class);
+        for (LeaderboardType type : LeaderboardType.values()) {
+            Map<UUID, Entry> merged = new HashMap<>();
+            for (Entry entry : stored.get(type)) {
+                merged.put(entry.playerId, entry);
+            }
+            for (PlayerStats stats : cached) {
+                Entry entry = new Entry(stats);
+                if (type.isRanked(entry, minGamesForWinRate)) {
+                    merged.put(entry.playerId, entry);
+                } else {
+                    merged.remove(entry.playerId);
+                }
+            }
+
+            List<Entry> top = new ArrayList<>(merged.values());
+            top.sort(type.comparator());
+            refreshed.put(type, new Top(top.subList(0, Math.min(SIZE, top.size()))));
+            ranks.get(type).clear();
+        }
+        tops = refreshed;
+    }
+
+    /**
+     * Moves a player to their new position after their stats changed. A player that drops out of
+     * the top leaves a gap at the bottom until the next refresh.
+     */
+    public void update(PlayerStats stats) {
+        Entry updated = new Entry(stats);
+        Map<LeaderboardType, Top> changed = new EnumMap<>(tops);
+        for (LeaderboardType type : LeaderboardType.values()) {
+            Top current = changed.get(type);
+            List<Entry> top = new ArrayList<>(current.entries);
+            Integer position = current.positions.get(updated.playerId);
+            if (position != null) {
+                top.remove(position - 1);
+            }
+
+            Comparator<Entry> comparator = type.comparator();
+            if (type.isRanked(updated, minGamesForWinRate)) {
+                int index = -(Collections.binarySearch(top, updated, comparator) + 1);
+                if (index < SIZE) {
+                    top.add(index, updated);
+                }
+            }
+            if (top.size() > SIZE) {
+                top.remove(SIZE);
+            }
+            changed.put(type, new Top(top));
+            ranks.get(type).remove(updated.playerId);
+        }
+        tops = changed;
+    }
+
+    /**
+     * Returns the entry at a position, starting at 1, or null if there are fewer ranked players
+     */
+    public Entry getEntry(LeaderboardType type, int position) {
+        List<Entry> top = tops.get(type).entries;
+        return position >= 1 && position <= top.size() ? top.get(position - 1) : null;
+    }
+
+    public List<Entry> getTop(LeaderboardType type, int count) {
+        List<Entry> top = tops.get(type).entries;
+        return top.subList(0, Math.min(count, top.size()));
+    }
+
+    /**
+     * Returns the position of a player, starting at 1, 0 if they are not ranked or {@link #UNKNOWN}
+     * if they are not in the top and their position has not been looked up yet
+     */
+    public int getRank(LeaderboardType type, UUID playerId) {
+        Integer position = tops.get(type).positions.get(playerId);
+        if (position != null) {
+            return position;
+        }
+        return ranks.get(type).getOrDefault(playerId, UNKNOWN);
+    }
+
+    /**
+     * Claims the lookup of a position below the top, returns false if it is already being looked up
+     */
+    public boolean startLookup(LeaderboardType type, UUID playerId) {
+        return ranks.get(type).putIfAbsent(playerId, UNKNOWN) == null;
+    }
+
+    public void setRank(LeaderboardType type, UUID playerId, int rank) {
+        ranks.get(type).put(playerId, rank);
+    }
+
+    public String getName(Entry entry) {
+        return names.computeIfAbsent(entry.playerId, id -> {
+            String name = Bukkit.getOfflinePlayer(id).getName();
+            return name != null ? name : id.toString().substring(0, 8);
+        });
+    }
+
+    /**
+     * The entries of one top list with the position of every player in it
+     */
+    private static final class Top {
+        private static final Top EMPTY = new Top(List.of());
+
+        private final List<Entry> entries;
+        private final Map<UUID, Integer> positions; // Starting at 1
+
+        private Top(List<Entry> entries) {
+            this.entries = List.copyOf(entries);
+            this.positions = new HashMap<>();
+            for (int i = 0; i < this.entries.size(); i++) {
+                positions.put(this.entries.get(i).playerId, i + 1);
+            }
+        }
+    }
+
+    /**
+     * The stats of one player at the time they were ranked
+     */
+    public static final class Entry {
+        private final UUID playerId;
+        private final String key; // Player id as stored, ties are ordered by it like in the storage
+        private final int wins;
+        private final int gamesPlayed;
+        private final int roundsSurvived;
+        private final double winRate;
+
+        Entry(PlayerStats stats) {
+            this.playerId = stats.getPlayerId();
+            this.key = playerId.toString();
+            this.wins = stats.getWins();
+            this.gamesPlayed = stats.getGamesPlayed();
+            this.roundsSurvived = stats.getRoundsSurvived();
+            this.winRate = stats.getWinRate();
+        }
+
+        public UUID getPlayerId() {
+            return playerId;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        public int getWins() {
+            return wins;
+        }
+
+        public int getGamesPlayed() {
+            return gamesPlayed;
+        }
+
+        public int getRoundsSurvived() {
+            return roundsSurvived;
+        }
+
+        public double getWinRate() {
+            return winRate;
+        }
+    }
+}
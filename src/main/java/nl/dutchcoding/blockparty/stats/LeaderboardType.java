@@ -0,0 +1,66 @@
+package nl.dutchcoding.blockparty.stats;
+
+import java.util.Comparator;
+
+/**
+ * The stats players are ranked by
+ */
+public enum LeaderboardType {
+    WINS("wins"),
+    WIN_RATE("winrate"),
+    ROUNDS_SURVIVED("rounds");
+
+    private final String key;
+
+    LeaderboardType(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Name used in commands and placeholders
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public double getValue(Leaderboard.Entry entry) {
+        switch (this) {
+            case WINS:
+                return entry.getWins();
+            case WIN_RATE:
+                return entry.getWinRate();
+            default:
+                return entry.getRoundsSurvived();
+        }
+    }
+
+    public String format(Leaderboard.Entry entry) {
+        return this == WIN_RATE ? String.format("%.1f", entry.getWinRate()) : String.valueOf((int) getValue(entry));
+    }
+
+    /**
+     * Whether a player is on this leaderboard, win rate needs a minimum number of games
+     */
+    public boolean isRanked(Leaderboard.Entry entry, int minGamesForWinRate) {
+        return this != WIN_RATE || entry.getGamesPlayed() >= minGamesForWinRate;
+    }
+
+    /**
+     * Highest value first, ties broken by player id so every entry has one position
+     */
+    Comparator<Leaderboard.Entry> comparator() {
+        return (a, b) -> {
+            int compare = Double.compare(getValue(b), getValue(a));
+            return compare != 0 ? compare : a.getKey().compareTo(b.getKey());
+        };
+    }
+
+    public static LeaderboardType fromKey(String key) {
+        for (LeaderboardType type : values()) {
+            if (type.key.equalsIgnoreCase(key)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,195 @@
+package nl.dutchcoding.blockparty.stats;
+
+import nl.dutchcoding.blockparty.models.PlayerStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores stats in an embedded SQLite database, so players are read one at a time when they join
+ * instead of all at startup, and the leaderboards are read through indexes. Uses the SQLite driver
+ * that ships with the server.
+ */
+public class SqliteStatsStorage implements StatsStorage {
+
+    private static final String SELECT = "SELECT uuid, wins, losses, games_played, rounds_survived FROM blockparty_stats";
+    private static final String UPSERT = "INSERT INTO blockparty_stats (uuid, wins, losses, games_played, rounds_survived) "
+        + "VALUES (?, ?, ?, ?, ?) ON CONFLICT(uuid) DO UPDATE SET wins = excluded.wins, losses = excluded.losses, "
+        + "games_played = excluded.games_played, rounds_survived = excluded.rounds_survived";
+    // Same calculation as PlayerStats#getWinRate, so values and ties match the in-memory leaderboard
+    private static final String WIN_RATE = "(CASE WHEN games_played = 0 THEN 0.0 "
+        + "ELSE CAST(wins AS REAL) / games_played * 100 END)";
+
+    private final File file;
+    private Connection connection;
+
+    public SqliteStatsStorage(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void open() throws IOException {
+        try {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("CREATE TABLE IF NOT EXISTS blockparty_stats ("
+                    + "uuid CHAR(36) PRIMARY KEY, wins INTEGER NOT NULL, losses INTEGER NOT NULL, "
+                    + "games_played INTEGER NOT NULL, rounds_survived INTEGER NOT NULL)");
+                // One index per leaderboard, so the top and positions are read without sorting the table
+                for (LeaderboardType type : LeaderboardType.values()) {
+                    statement.executeUpdate("CREATE INDEX IF NOT EXISTS blockparty_stats_" + type.getKey()
+                        + " ON blockparty_stats (" + column(type) + " DESC, uuid)");
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not open " + file.getName(), e);
+        }
+    }
+
+    @Override
+    public PlayerStats load(UUID playerId) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT + " WHERE uuid = ?")) {
+            statement.setString(1, playerId.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? read(result) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not load stats of " + playerId, e);
+        }
+    }
+
+    @Override
+    public Map<UUID, PlayerStats> loadAll() throws IOException {
+        Map<UUID, PlayerStats> stats = new HashMap<>();
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(SELECT)) {
+            while (result.next()) {
+                PlayerStats playerStats = read(result);
+                stats.put(playerStats.getPlayerId(), playerStats);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not load stats", e);
+        }
+        return stats;
+    }
+
+    @Override
+    public List<Leaderboard.Entry> loadTop(LeaderboardType type, int minGamesForWinRate, int limit) throws IOException {
+        String query = SELECT + " WHERE games_played >= ? ORDER BY " + column(type) + " DESC, uuid LIMIT ?";
+        List<Leaderboard.Entry> top = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, minGames(type, minGamesForWinRate));
+            statement.setInt(2, limit);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    top.add(new Leaderboard.Entry(read(result)));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not load the " + type.getKey() + " leaderboard", e);
+        }
+        return top;
+    }
+
+    @Override
+    public int loadRank(LeaderboardType type, int minGamesForWinRate, UUID playerId) throws IOException {
+        PlayerStats stats = load(playerId);
+        if (stats == null || !type.isRanked(new Leaderboard.Entry(stats), minGamesForWinRate)) {
+            return 0;
+        }
+
+        String column = column(type);
+        String query = "SELECT COUNT(*) FROM blockparty_stats WHERE games_played >= ? AND ("
+            + column + " > ? OR (" + column + " = ? AND uuid < ?))";
+        double value = type.getValue(new Leaderboard.Entry(stats));
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, minGames(type, minGamesForWinRate));
+            statement.setDouble(2, value);
+            statement.setDouble(3, value);
+            statement.setString(4, playerId.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? result.getInt(1) + 1 : 0;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Could not load the " + type.getKey() + " rank of " + playerId, e);
+        }
+    }
+
+    private static String column(LeaderboardType type) {
+        switch (type) {
+            case WINS:
+                return "wins";
+            case WIN_RATE:
+                return WIN_RATE;
+            default:
+                return "rounds_survived";
+        }
+    }
+
+    private static int minGames(LeaderboardType type, int minGamesForWinRate) {
+        return type == LeaderboardType.WIN_RATE ? minGamesForWinRate : 0;
+    }
+
+    private PlayerStats read(ResultSet result) throws SQLException {
+        Map<String, Object> data = new HashMap<>();
+        data.put("playerId", result.getString("uuid"));
+        data.put("wins", result.getInt("wins"));
+        data.put("losses", result.getInt("losses"));
+        data.put("gamesPlayed", result.getInt("games_played"));
+        data.put("roundsSurvived", result.getInt("rounds_survived"));
+        return new PlayerStats(data);
+    }
+
+    @Override
+    public void save(Collection<PlayerStats> stats) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+            connection.setAutoCommit(false);
+            for (PlayerStats playerStats : stats) {
+                statement.setString(1, playerStats.getPlayerId().toString());
+                statement.setInt(2, playerStats.getWins());
+                statement.setInt(3, playerStats.getLosses());
+                statement.setInt(4, playerStats.getGamesPlayed());
+                statement.setInt(5, playerStats.getRoundsSurvived());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // The original error is more useful
+            }
+            throw new IOException("Could not save stats", e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // Connection is broken, the next call reports it
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Nothing left to do while shutting down
+            }
+            connection = null;
+        }
+    }
+}
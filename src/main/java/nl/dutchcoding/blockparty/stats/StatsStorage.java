@@ -0,0 +1,68 @@
+package nl.dutchcoding.blockparty.stats;
+
+import nl.dutchcoding.blockparty.models.PlayerStats;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Where player stats are persisted. All methods except {@link #open()} are only called from the
+ * stats writer thread, so implementations do not need to be thread safe.
+ */
+public interface StatsStorage {
+
+    void open() throws IOException;
+
+    /**
+     * Returns the stored stats of a player, or null if the player has none yet
+     */
+    PlayerStats load(UUID playerId) throws IOException;
+
+    Map<UUID, PlayerStats> loadAll() throws IOException;
+
+    /**
+     * Returns the best ranked stored players, best first. The default reads every record, storages
+     * that can sort by themselves should override it.
+     */
+    default List<Leaderboard.Entry> loadTop(LeaderboardType type, int minGamesForWinRate, int limit) throws IOException {
+        List<Leaderboard.Entry> ranked = new ArrayList<>();
+        for (PlayerStats stats : loadAll().values()) {
+            Leaderboard.Entry entry = new Leaderboard.Entry(stats);
+            if (type.isRanked(entry, minGamesForWinRate)) {
+                ranked.add(entry);
+            }
+        }
+        ranked.sort(type.comparator());
+        return new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+    }
+
+    /**
+     * Returns the stored position of a player, starting at 1, or 0 if they are not ranked
+     */
+    default int loadRank(LeaderboardType type, int minGamesForWinRate, UUID playerId) throws IOException {
+        PlayerStats stats = load(playerId);
+        if (stats == null || !type.isRanked(new Leaderboard.Entry(stats), minGamesForWinRate)) {
+            return 0;
+        }
+
+        Leaderboard.Entry own = new Leaderboard.Entry(stats);
+        Comparator<Leaderboard.Entry> comparator = type.comparator();
+        int rank = 1;
+        for (PlayerStats other : loadAll().values()) {
+            Leaderboard.Entry entry = new Leaderboard.Entry(other);
+            if (type.isRanked(entry, minGamesForWinRate) && comparator.compare(entry, own) < 0) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    void save(Collection<PlayerStats> stats) throws IOException;
+
+    void close();
+}
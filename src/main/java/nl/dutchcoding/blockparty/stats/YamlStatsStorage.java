@@ -0,0 +1,94 @@
+package nl.dutchcoding.blockparty.stats;
+
+import nl.dutchcoding.blockparty.models.PlayerStats;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores all stats in stats.yml. The file is read once when opened and rewritten as a whole on every save.
+ */
+public class YamlStatsStorage implements StatsStorage {
+
+    private final File file;
+    private FileConfiguration config;
+
+    public YamlStatsStorage(File file) {
+        this.file = file;
+    }
+
+    @Override
+    public void open() throws IOException {
+        if (!file.exists()) {
+            file.createNewFile();
+        }
+        config = YamlConfiguration.loadConfiguration(file);
+    }
+
+    @Override
+    public PlayerStats load(UUID playerId) {
+        ConfigurationSection section = config.getConfigurationSection("stats." + playerId);
+        return section != null ? read(playerId.toString(), section) : null;
+    }
+
+    @Override
+    public Map<UUID, PlayerStats> loadAll() {
+        Map<UUID, PlayerStats> stats = new HashMap<>();
+        ConfigurationSection section = config.getConfigurationSection("stats");
+        if (section == null) {
+            return stats;
+        }
+
+        for (String uuidString : section.getKeys(false)) {
+            try {
+                PlayerStats playerStats = read(uuidString, section.getConfigurationSection(uuidString));
+                stats.put(playerStats.getPlayerId(), playerStats);
+            } catch (IllegalArgumentException e) {
+                // Skip invalid UUIDs, they were never written by the plugin
+            }
+        }
+        return stats;
+    }
+
+    private PlayerStats read(String uuidString, ConfigurationSection section) {
+        Map<String, Object> data = section.getValues(false);
+        data.put("playerId", uuidString);
+        return new PlayerStats(data);
+    }
+
+    @Override
+    public void save(Collection<PlayerStats> stats) throws IOException {
+        for (PlayerStats playerStats : stats) {
+            Map<String, Object> data = playerStats.serialize();
+            String uuidString = data.remove("playerId").toString();
+            config.set("stats." + uuidString, data);
+        }
+
+        // Write next to the real file first, so a crash mid-write never leaves a truncated stats.yml
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+        Files.write(temp, config.saveToString().getBytes(StandardCharsets.UTF_8));
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public void close() {
+        config = null;
+    }
+}
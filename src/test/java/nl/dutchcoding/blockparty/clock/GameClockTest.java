@@ -0,0 +1,54 @@
+package nl.dutchcoding.blockparty.clock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GameClockTest {
+
+    private final GameClock clock = new GameClock(Logger.getLogger("GameClockTest"));
+    private final List<String> ran = new ArrayList<>();
+
+    @Test
+    void tickersRunEveryPeriod() {
+        clock.every(1, () -> ran.add("every tick"));
+        clock.every(3, () -> ran.add("every 3"));
+
+        for (int i = 0; i < 3; i++) {
+            clock.tick();
+        }
+        assertEquals(List.of("every tick", "every tick", "every tick", "every 3"), ran);
+    }
+
+    @Test
+    void delayedTasksRunOnceInOrder() {
+        clock.later(2, () -> ran.add("second"));
+        clock.later(1, () -> ran.add("first"));
+        clock.later(2, () -> ran.add("third"));
+
+        clock.tick();
+        assertEquals(List.of("first"), ran);
+        clock.tick();
+        clock.tick();
+        assertEquals(List.of("first", "second", "third"), ran);
+    }
+
+    @Test
+    void failingTaskDoesNotStopTheOthers() {
+        Logger.getLogger("GameClockTest").setLevel(Level.OFF);
+        clock.every(1, () -> {
+            throw new IllegalStateException("broken");
+        });
+        clock.every(1, () -> ran.add("ticked"));
+        clock.later(1, () -> ran.add("delayed"));
+
+        clock.tick();
+        assertEquals(List.of("ticked", "delayed"), ran);
+        assertEquals(1, clock.getCurrentTick());
+    }
+}
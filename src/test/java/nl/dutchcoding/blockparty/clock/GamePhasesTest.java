@@ -0,0 +1,325 @@
+package nl.dutchcoding.blockparty.clock;
+
+import nl.dutchcoding.blockparty.models.Arena;
+import nl.dutchcoding.blockparty.models.Game;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GamePhasesTest {
+
+    private static final int COUNTDOWN_SECONDS = 3;
+    private static final int START_DELAY = 60;
+    private static final int ROUND_TICKS = 50; // Not a whole number of seconds on purpose
+    private static final int FALL_CHECK = 10;
+    private static final int INTERMISSION = 40;
+    private static final int CELEBRATION = 100;
+
+    private GameClock clock;
+    private RecordingActions actions;
+    private GamePhases phases;
+    private Game game;
+    private UUID loser;
+
+    @BeforeEach
+    void setUp() {
+        clock = new GameClock(Logger.getLogger("GamePhasesTest"));
+        actions = new RecordingActions();
+        phases = new GamePhases(clock, new FixedTimings(), actions);
+        clock.every(1, () -> phases.tick(game));
+
+        game = new Game(new Arena("test"));
+        game.addPlayer(player(UUID.randomUUID()));
+        loser = UUID.randomUUID();
+        game.addPlayer(player(loser));
+    }
+
+    @Test
+    void countdownAnnouncesEverySecondThenStarts() {
+        phases.startCountdown(game);
+        assertEquals(Game.Phase.COUNTDOWN, game.getPhase());
+
+        advanceTo(1);
+        assertEquals(List.of(3), actions.announced);
+        assertEquals(21, game.getPhaseDeadline());
+
+        advanceTo(60);
+        assertEquals(List.of(3, 2, 1), actions.announced);
+        assertEquals(Game.Phase.COUNTDOWN, game.getPhase());
+        assertEquals(0, actions.started);
+
+        advanceTo(61);
+        assertEquals(1, actions.started);
+        assertEquals(Game.Phase.INTERMISSION, game.getPhase());
+        assertEquals(61 + START_DELAY, game.getPhaseDeadline());
+    }
+
+    @Test
+    void countdownStopsWithoutEnoughPlayers() {
+        phases.startCountdown(game);
+        actions.canStart = false;
+
+        advanceTo(1);
+        assertEquals(1, actions.cancelled);
+        assertEquals(Game.Phase.WAITING, game.getPhase());
+        assertEquals(Game.NO_DEADLINE, game.getPhaseDeadline());
+
+        advanceTo(200);
+        assertEquals(0, actions.started);
+        assertTrue(actions.announced.isEmpty());
+    }
+
+    @Test
+    void roundGoesThroughEveryPhase() {
+        phases.start(game);
+        assertEquals(Game.Phase.INTERMISSION, game.getPhase());
+        assertEquals(START_DELAY, game.getPhaseDeadline());
+
+        // The floor is built over several ticks, the round waits for it
+        advanceTo(START_DELAY);
+        assertEquals(1, game.getRound());
+        assertEquals(Game.Phase.FLOOR_BUILD, game.getPhase());
+        advanceTo(70);
+        assertEquals(Game.Phase.FLOOR_BUILD, game.getPhase());
+        actions.completeFloor();
+
+        // 50 ticks show as 3, 2 and 1 seconds, changing on the exact ticks
+        assertEquals(List.of(ROUND_TICKS), actions.roundsBegun);
+        assertEquals(Game.Phase.DANCE, game.getPhase());
+        assertEquals(70 + ROUND_TICKS, game.getRoundEndTick());
+        assertEquals(List.of(3), actions.timesShown);
+        assertEquals(80, game.getPhaseDeadline());
+        advanceTo(119);
+        assertEquals(List.of(3, 2, 1), actions.timesShown);
+        assertEquals(Game.Phase.DANCE, game.getPhase());
+
+        // The blocks are removed over several ticks as well
+        advanceTo(120);
+        assertEquals(Game.Phase.REMOVE, game.getPhase());
+        assertEquals(0, game.getTimeLeft());
+        advanceTo(125);
+        actions.completeRemoval();
+        assertEquals(Game.Phase.FALL_CHECK, game.getPhase());
+        assertEquals(125 + FALL_CHECK, game.getPhaseDeadline());
+
+        // Nobody won, so the next round follows after the intermission
+        advanceTo(135);
+        assertEquals(1, actions.eliminationChecks);
+        assertEquals(Game.Phase.INTERMISSION, game.getPhase());
+        assertEquals(135 + INTERMISSION, game.getPhaseDeadline());
+        advanceTo(175);
+        assertEquals(2, game.getRound());
+        assertEquals(Game.Phase.FLOOR_BUILD, game.getPhase());
+    }
+
+    @Test
+    void winnerIsCelebratedBeforeTheGameFinishes() {
+        playUntilFallCheck();
+        game.eliminatePlayer(loser);
+        actions.celebrate = true;
+
+        long fallCheck = game.getPhaseDeadline();
+        advanceTo(fallCheck);
+        assertEquals(1, actions.ended);
+        assertEquals(Game.Phase.CELEBRATION, game.getPhase());
+        assertEquals(fallCheck + CELEBRATION, game.getPhaseDeadline());
+
+        advanceTo(fallCheck + CELEBRATION - 1);
+        assertEquals(0, actions.finished);
+        advanceTo(fallCheck + CELEBRATION);
+        assertEquals(1, actions.finished);
+        assertEquals(Game.Phase.WAITING, game.getPhase());
+
+        advanceTo(fallCheck + CELEBRATION + 100);
+        assertEquals(1, actions.finished);
+    }
+
+    @Test
+    void gameWithoutCelebrationFinishesRightAway() {
+        playUntilFallCheck();
+        game.eliminatePlayer(loser);
+
+        advanceTo(game.getPhaseDeadline());
+        assertEquals(1, actions.ended);
+        assertEquals(1, actions.finished);
+        assertEquals(Game.Phase.WAITING, game.getPhase());
+        assertEquals(Game.NO_DEADLINE, game.getPhaseDeadline());
+    }
+
+    @Test
+    void floorBuiltAfterTheGameEndedStartsNoRound() {
+        phases.start(game);
+        advanceTo(START_DELAY);
+        assertEquals(Game.Phase.FLOOR_BUILD, game.getPhase());
+
+        phases.end(game);
+        actions.completeFloor();
+        assertTrue(actions.roundsBegun.isEmpty());
+        assertEquals(Game.Phase.WAITING, game.getPhase());
+    }
+
+    @Test
+    void blocksRemovedAfterTheGameEndedStartNoFallCheck() {
+        phases.start(game);
+        advanceTo(START_DELAY);
+        actions.completeFloor();
+        advanceTo(game.getRoundEndTick());
+        assertEquals(Game.Phase.REMOVE, game.getPhase());
+
+        phases.end(game);
+        actions.completeRemoval();
+        assertEquals(Game.Phase.WAITING, game.getPhase());
+        assertEquals(0, actions.eliminationChecks);
+    }
+
+    private void playUntilFallCheck() {
+        phases.start(game);
+        advanceTo(START_DELAY);
+        actions.completeFloor();
+        advanceTo(game.getRoundEndTick());
+        actions.completeRemoval();
+        assertEquals(Game.Phase.FALL_CHECK, game.getPhase());
+    }
+
+    private void advanceTo(long tick) {
+        while (clock.getCurrentTick() < tick) {
+            clock.tick();
+        }
+    }
+
+    private static Player player(UUID playerId) {
+        return (Player) Proxy.newProxyInstance(GamePhasesTest.class.getClassLoader(), new Class<?>[] {Player.class},
+            (proxy, method, args) -> method.getName().equals("getUniqueId") ? playerId : null);
+    }
+
+    private static final class FixedTimings implements GamePhases.Timings {
+        @Override
+        public int getCountdownSeconds() {
+            return COUNTDOWN_SECONDS;
+        }
+
+        @Override
+        public int getStartDelayTicks() {
+            return START_DELAY;
+        }
+
+        @Override
+        public int getRoundTicks(int round) {
+            return ROUND_TICKS;
+        }
+
+        @Override
+        public int getFallCheckTicks() {
+            return FALL_CHECK;
+        }
+
+        @Override
+        public int getIntermissionTicks() {
+            return INTERMISSION;
+        }
+
+        @Override
+        public int getCelebrationTicks() {
+            return CELEBRATION;
+        }
+    }
+
+    /**
+     * Records what the phases asked for. Floors and removals complete when the test says so,
+     * like the time-sliced floor writes do.
+     */
+    private static final class RecordingActions implements GamePhases.Actions {
+        private boolean canStart = true;
+        private boolean celebrate;
+        private final List<Integer> announced = new ArrayList<>();
+        private final List<Integer> roundsBegun = new ArrayList<>();
+        private final List<Integer> timesShown = new ArrayList<>();
+        private int cancelled;
+        private int started;
+        private int eliminationChecks;
+        private int ended;
+        private int finished;
+        private Runnable pendingFloor;
+        private Runnable pendingRemoval;
+
+        void completeFloor() {
+            Runnable onBuilt = pendingFloor;
+            pendingFloor = null;
+            onBuilt.run();
+        }
+
+        void completeRemoval() {
+            Runnable onRemoved = pendingRemoval;
+            pendingRemoval = null;
+            onRemoved.run();
+        }
+
+        @Override
+        public boolean canStart(Game game) {
+            return canStart;
+        }
+
+        @Override
+        public void cancelCountdown(Game game) {
+            cancelled++;
+        }
+
+        @Override
+        public void announceCountdown(Game game, int seconds) {
+            announced.add(seconds);
+        }
+
+        @Override
+        public void startGame(Game game) {
+            started++;
+        }
+
+        @Override
+        public void buildFloor(Game game, Runnable onBuilt) {
+            assertNull(pendingFloor);
+            pendingFloor = onBuilt;
+        }
+
+        @Override
+        public void beginRound(Game game, int roundTicks) {
+            roundsBegun.add(roundTicks);
+        }
+
+        @Override
+        public void showTimeLeft(Game game, int seconds) {
+            timesShown.add(seconds);
+        }
+
+        @Override
+        public void removeBlocks(Game game, Runnable onRemoved) {
+            assertNull(pendingRemoval);
+            pendingRemoval = onRemoved;
+        }
+
+        @Override
+        public void checkEliminations(Game game) {
+            eliminationChecks++;
+        }
+
+        @Override
+        public boolean endGame(Game game) {
+            ended++;
+            return celebrate;
+        }
+
+        @Override
+        public void finishGame(Game game) {
+            finished++;
+        }
+    }
+}